@@ -0,0 +1,93 @@
+package de.ra.coc.Benchmarks;
+
+import de.ra.coc.COCData.UnlockStatus;
+import de.ra.coc.COCPlayers;
+import de.ra.exception.ClanJWException;
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.UnsupportedEncodingException;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scalar getters and the unit lookups of a player. The player is loaded once through an in-memory
+ * transport, so only the accessors are measured.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class COCPlayersBenchmark {
+    private static final String UNLOCKED_TROOP = "Barbarian";
+    private static final String UNLOCKED_HERO = "Barbarian King";
+
+    private COCPlayers player;
+    private String lockedTroop;
+
+    @Setup
+    public void setUp() throws ClanJWException, UnsupportedEncodingException {
+        player = new COCPlayers(Payloads.inMemory(Payloads.player()), Payloads.PLAYER_TAG);
+        lockedTroop = Payloads.lockedTroop();
+        if (player.getTroopUnlockStatus(lockedTroop) != UnlockStatus.NOT_UNLOCKED)
+            throw new IllegalStateException(lockedTroop + " must not be unlocked by the benchmark player");
+    }
+
+    @Benchmark
+    public void scalarGetters(Blackhole blackhole) throws JSONException {
+        blackhole.consume(player.getPlayerName());
+        blackhole.consume(player.getPlayerTownHallLevel());
+        blackhole.consume(player.getPlayerExperienceLevel());
+        blackhole.consume(player.getPlayerCurrentTrophies());
+        blackhole.consume(player.getPlayerLeagueName());
+        blackhole.consume(player.getPlayerClanName());
+    }
+
+    @Benchmark
+    public void snapshotGetters(Blackhole blackhole) {
+        blackhole.consume(player.getPlayerSnapshot().getName());
+        blackhole.consume(player.getPlayerSnapshot().getTownHallLevel());
+        blackhole.consume(player.getPlayerSnapshot().getExperienceLevel());
+        blackhole.consume(player.getPlayerSnapshot().getCurrentTrophies());
+        blackhole.consume(player.getPlayerSnapshot().getLeague().getName());
+        blackhole.consume(player.getPlayerSnapshot().getClan().getName());
+    }
+
+    @Benchmark
+    public Integer troopLevel() throws ClanJWException, JSONException {
+        return player.getPlayerTroopLevel(UNLOCKED_TROOP);
+    }
+
+    @Benchmark
+    public Integer heroLevel() throws ClanJWException, JSONException {
+        return player.getPlayerHeroLevel(UNLOCKED_HERO);
+    }
+
+    @Benchmark
+    public Object lockedTroopWithException() throws JSONException {
+        try {
+            return player.getPlayerTroopLevel(lockedTroop);
+        } catch (ClanJWException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public OptionalInt lockedTroopWithOptional() {
+        return player.findPlayerTroopLevel(lockedTroop);
+    }
+}
@@ -0,0 +1,40 @@
+package de.ra.coc.Benchmarks;
+
+import de.ra.coc.COCData.BuilderBase.Troops;
+import de.ra.coc.COCData.Heroes;
+import de.ra.coc.COCData.HomeVillage.DarkElixirSpell;
+import de.ra.coc.COCData.HomeVillage.DarkElixirTroop;
+import de.ra.coc.COCData.HomeVillage.ElixirSpell;
+import de.ra.coc.COCData.HomeVillage.ElixirTroop;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lists of the names of the troops, spells and heroes.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogBenchmark {
+    @Benchmark
+    public void catalogLists(Blackhole blackhole) {
+        blackhole.consume(ElixirTroop.getElixirTroopsList());
+        blackhole.consume(DarkElixirTroop.getDarkElixirTroopsList());
+        blackhole.consume(ElixirSpell.getElixirSpellsList());
+        blackhole.consume(DarkElixirSpell.getDarkElixirSpellsList());
+        blackhole.consume(Troops.getBuilderBaseTroopsList());
+        blackhole.consume(Heroes.getHeroesList());
+    }
+}
@@ -0,0 +1,51 @@
+package de.ra.coc.Benchmarks;
+
+import de.ra.coc.Clan.ClanSearch;
+import de.ra.coc.Clan.ClanSearchFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of the link of a clan search with all the search criteria.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClanSearchBenchmark {
+    private ClanSearchFactory factory;
+
+    @Setup
+    public void setUp() {
+        factory = new ClanSearchFactory(Payloads.inMemory(Payloads.clanSearch(20)))
+                .setClanNameCriteria("Clash of Clans & Friends")
+                .setWarFrequencyCriteria(1)
+                .setLocationIDCriteria(32000006)
+                .setMinMembersCriteria(10)
+                .setMaxMembersCriteria(50)
+                .setMinClanPointsCriteria(20000)
+                .setMinClanLevelCriteria(5)
+                .setResultLimit(50)
+                .setCursor("after", "eyJwb3MiOjUwfQ");
+    }
+
+    @Benchmark
+    public ClanSearch buildClanSearch() throws UnsupportedEncodingException {
+        return factory.build();
+    }
+}
@@ -0,0 +1,74 @@
+package de.ra.coc.Benchmarks;
+
+import de.ra.coc.InputToJson;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of the responses of the players, clans and clan search endpoints.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputToJsonBenchmark {
+    @Param({"50"})
+    public int clanMembers;
+
+    private byte[] player;
+    private byte[] clan;
+
+    /**
+     * Search result with its own parameter, so the player and clan benchmarks are not repeated for every limit.
+     */
+    @State(Scope.Benchmark)
+    public static class SearchPayload {
+        @Param({"20", "200"})
+        public int searchLimit;
+
+        private byte[] clanSearch;
+
+        @Setup
+        public void setUp() {
+            clanSearch = Payloads.clanSearch(searchLimit);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        player = Payloads.player();
+        clan = Payloads.clan(clanMembers);
+    }
+
+    @Benchmark
+    public JSONObject parsePlayer() {
+        return InputToJson.getJSONObject(new ByteArrayInputStream(player));
+    }
+
+    @Benchmark
+    public JSONObject parseClan() {
+        return InputToJson.getJSONObject(new ByteArrayInputStream(clan));
+    }
+
+    @Benchmark
+    public JSONObject parseClanSearch(SearchPayload search) {
+        return InputToJson.getJSONObject(new ByteArrayInputStream(search.clanSearch));
+    }
+}
@@ -0,0 +1,76 @@
+package de.ra.coc.Benchmarks;
+
+import de.ra.coc.COCData.Unit;
+import de.ra.coc.ServerConnection.StubServer;
+import de.ra.coc.ServerConnection.Transport;
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.tagException.InvalidItemTagException;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Realistic payloads of the Clash of Clan API for the benchmarks. The payloads are generated by the generators of
+ * {@link de.ra.coc.ServerConnection.StubServer}, so they have the same shape as the payloads of the offline tests.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+final class Payloads {
+    static final String PLAYER_TAG = "#2PP0";
+    static final String CLAN_TAG = "#PJYPYG9P";
+
+    private Payloads() {
+    }
+
+    /**
+     * The player has unlocked every troop except the last one, so the benchmarks can look up a locked troop.
+     */
+    static byte[] player() {
+        return StubServer.players(Unit.of(Unit.Category.TROOP).size() - 1)
+                .generate("/players/%232PP0", null)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String lockedTroop() {
+        String name = null;
+        for (Unit unit : Unit.of(Unit.Category.TROOP))
+            name = unit.getName();
+        return name;
+    }
+
+    static byte[] clan(int memberCount) {
+        return StubServer.clans(memberCount)
+                .generate("/clans/%23PJYPYG9P", null)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] clanSearch(int limit) {
+        return StubServer.clanSearch(1)
+                .generate("/clans", "name=benchmark&limit=" + limit)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Transport that answers every request with the given payload without a connection, so the benchmarks of
+     * the accessors do not measure the network.
+     */
+    static Transport inMemory(byte[] payload) {
+        String json = new String(payload, StandardCharsets.UTF_8);
+        return new Transport() {
+            @Override
+            public String getBaseLink() {
+                return "http://127.0.0.1/v1";
+            }
+
+            @Override
+            public JSONObject get(String link, String tag) throws COCServerConnectionException, InvalidItemTagException {
+                try {
+                    return new JSONObject(json);
+                } catch (JSONException e) {
+                    throw new COCServerConnectionException(-1, e.getClass().getSimpleName(), e.getMessage());
+                }
+            }
+        };
+    }
+}
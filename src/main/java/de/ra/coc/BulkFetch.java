@@ -0,0 +1,113 @@
+package de.ra.coc;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Fetches the values of many tags with at most the given number of requests in flight. The next tag is
+ * started as soon as a request completes, so no thread waits for a free slot. Tags that normalize to the same tag,
+ * for example #2pp and 2PP, are fetched once and the result is reported for every given spelling.
+ *
+ * @param <T> Type of the retrieved value.
+ * @author Ranjith Krishnamurthy
+ */
+class BulkFetch<T> {
+    private final Iterator<String> remaining;
+    private final LinkedHashSet<String> tags;
+    private final Map<String, String> keys = new HashMap<>();
+    private final LinkedHashMap<String, String> requests = new LinkedHashMap<>();
+    private final Function<String, CompletableFuture<T>> fetch;
+    private final int parallelism;
+    private final Map<String, FetchResult<T>> results = new ConcurrentHashMap<>();
+    private final AtomicInteger pending;
+    private final CompletableFuture<Map<String, FetchResult<T>>> done = new CompletableFuture<>();
+
+    BulkFetch(Collection<String> tags, Function<String, CompletableFuture<T>> fetch, int parallelism) {
+        this.tags = new LinkedHashSet<>(tags);
+        for (String tag : this.tags) {
+            String normalized = tag == null ? null : COCTag.normalize(tag);
+            String key = normalized == null ? tag : normalized;
+            keys.put(tag, key);
+            requests.putIfAbsent(key, tag);
+        }
+        this.remaining = requests.values().iterator();
+        this.fetch = fetch;
+        this.parallelism = Math.max(1, parallelism);
+        this.pending = new AtomicInteger(requests.size());
+    }
+
+    CompletableFuture<Map<String, FetchResult<T>>> start() {
+        if (tags.isEmpty()) {
+            done.complete(new LinkedHashMap<>());
+            return done;
+        }
+
+        for (int lane = 0; lane < Math.min(parallelism, requests.size()); lane++)
+            fetchNext();
+
+        return done;
+    }
+
+    private void fetchNext() {
+        String tag;
+        while ((tag = next()) != null) {
+            CompletableFuture<T> future;
+            try {
+                future = fetch.apply(tag);
+            } catch (RuntimeException e) {
+                record(tag, null, e);
+                continue;
+            }
+
+            if (!future.isDone()) {
+                String inFlightTag = tag;
+                future.whenComplete((value, failure) -> {
+                    record(inFlightTag, value, failure);
+                    fetchNext();
+                });
+                return;
+            }
+
+            T value = null;
+            Throwable failure = null;
+            try {
+                value = future.join();
+            } catch (CompletionException e) {
+                failure = e;
+            }
+            record(tag, value, failure);
+        }
+    }
+
+    private String next() {
+        synchronized (remaining) {
+            return remaining.hasNext() ? remaining.next() : null;
+        }
+    }
+
+    private void record(String tag, T value, Throwable failure) {
+        results.put(keys.get(tag), failure == null ? FetchResult.success(value) : FetchResult.failure(unwrap(failure)));
+
+        if (pending.decrementAndGet() == 0) {
+            Map<String, FetchResult<T>> ordered = new LinkedHashMap<>();
+            for (String each : tags)
+                ordered.put(each, results.get(keys.get(each)));
+            done.complete(ordered);
+        }
+    }
+
+    static Throwable unwrap(Throwable failure) {
+        while (failure instanceof CompletionException && failure.getCause() != null)
+            failure = failure.getCause();
+        return failure;
+    }
+}
@@ -0,0 +1,382 @@
+package de.ra.coc;
+
+import de.ra.coc.Clan.Clan;
+import de.ra.coc.Clan.ClanRoster;
+import de.ra.coc.Clan.ClanSearch;
+import de.ra.coc.ServerConnection.ConnectionPool;
+import de.ra.coc.ServerConnection.HttpTransport;
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.coc.ServerConnection.Transport;
+import de.ra.exception.serverConnectionException.RequestTimeoutException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The COCClient class provides the asynchronous access to the Clash of Clan server.
+ * Every request is executed by the executor of this client and the result is returned as
+ * {@link java.util.concurrent.CompletableFuture}, so the calling thread is never blocked by the network I/O.
+ * If a request fails, the returned future is completed exceptionally with the same exception
+ * that is thrown by the blocking API, for example {@link de.ra.exception.tagException.InvalidPlayerTagException}.
+ * To get the JSON Web Token see <a href="https://developer.clashofclans.com/">https://developer.clashofclans.com/</a>
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class COCClient implements AutoCloseable {
+    /**
+     * Default number of requests that are executed at the same time.
+     */
+    public static final int DEFAULT_PARALLELISM = ConnectionPool.DEFAULT_MAX_CONNECTIONS;
+
+    private static final int RUNNING = 0;
+    private static final int RETURNED = 1;
+    private static final int TIMED_OUT = 2;
+
+    private static final AtomicInteger CLIENT_COUNT = new AtomicInteger();
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "clanJW-client-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Transport TRANSPORT;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final int parallelism;
+
+    /**
+     * Constructs the COCClient with the given JSON Web Token and the default parallelism.
+     *
+     * @param JWToken JSON Web Token.
+     */
+    public COCClient(String JWToken) {
+        this(JWToken, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructs the COCClient with the given JSON Web Token that executes at most the given number
+     * of requests at the same time.
+     *
+     * @param JWToken     JSON Web Token.
+     * @param parallelism Number of requests that are executed at the same time.
+     */
+    public COCClient(String JWToken, int parallelism) {
+        this(TokenPool.of(JWToken), parallelism);
+    }
+
+    /**
+     * Constructs the COCClient with the given pool of JSON Web Tokens that executes at most the given number
+     * of requests at the same time. Every request is sent with a token of the pool, see
+     * {@link de.ra.coc.ServerConnection.TokenPool}.
+     *
+     * @param tokenPool   Pool of JSON Web Tokens.
+     * @param parallelism Number of requests that are executed at the same time.
+     */
+    public COCClient(TokenPool tokenPool, int parallelism) {
+        this(new HttpTransport(tokenPool), Executors.newFixedThreadPool(parallelism, newThreadFactory()), parallelism, true);
+    }
+
+    /**
+     * Constructs the COCClient with the given JSON Web Token that executes the requests with the given executor.
+     * The executor is not shut down by {@link #close()}.
+     *
+     * @param JWToken  JSON Web Token.
+     * @param executor Executor to execute the requests.
+     */
+    public COCClient(String JWToken, ExecutorService executor) {
+        this(new HttpTransport(TokenPool.of(JWToken)), executor, DEFAULT_PARALLELISM, false);
+    }
+
+    /**
+     * Constructs the COCClient with the given JSON Web Token that executes the requests with the given executor.
+     * The bulk requests of this client keep at most the given number of requests in flight, which allows to use
+     * an unbounded executor, for example one that starts a new thread per request.
+     * The executor is not shut down by {@link #close()}.
+     *
+     * @param JWToken     JSON Web Token.
+     * @param executor    Executor to execute the requests.
+     * @param parallelism Number of requests of a bulk request that are executed at the same time.
+     */
+    public COCClient(String JWToken, ExecutorService executor, int parallelism) {
+        this(TokenPool.of(JWToken), executor, parallelism);
+    }
+
+    /**
+     * Constructs the COCClient with the given pool of JSON Web Tokens that executes the requests with the given
+     * executor. See {@link #COCClient(String, ExecutorService, int)}.
+     *
+     * @param tokenPool   Pool of JSON Web Tokens.
+     * @param executor    Executor to execute the requests.
+     * @param parallelism Number of requests of a bulk request that are executed at the same time.
+     */
+    public COCClient(TokenPool tokenPool, ExecutorService executor, int parallelism) {
+        this(new HttpTransport(tokenPool), executor, parallelism, false);
+    }
+
+    /**
+     * Constructs the COCClient that sends the requests with the given transport and executes them with the given
+     * executor, see {@link de.ra.coc.ServerConnection.Transport} and {@link #COCClient(String, ExecutorService, int)}.
+     *
+     * @param transport   Transport that sends the requests.
+     * @param executor    Executor to execute the requests.
+     * @param parallelism Number of requests of a bulk request that are executed at the same time.
+     */
+    public COCClient(Transport transport, ExecutorService executor, int parallelism) {
+        this(transport, executor, parallelism, false);
+    }
+
+    private COCClient(Transport transport, ExecutorService executor, int parallelism, boolean ownsExecutor) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+
+        this.TRANSPORT = transport;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * This method retrieves the information of the player with the given tag.
+     *
+     * @param playerTag Player's tag.
+     * @return Future that completes with the player.
+     */
+    public CompletableFuture<COCPlayers> fetchPlayerAsync(String playerTag) {
+        return submit(() -> new COCPlayers(TRANSPORT, playerTag));
+    }
+
+    /**
+     * This method retrieves the information of the clan with the given tag.
+     *
+     * @param clanTag Clan's tag.
+     * @return Future that completes with the clan.
+     */
+    public CompletableFuture<Clan> fetchClanAsync(String clanTag) {
+        return submit(() -> new Clan(TRANSPORT, clanTag));
+    }
+
+    /**
+     * This method searches the clans with the search criteria of the given ClanSearch.
+     * See {@link de.ra.coc.Clan.ClanSearchFactory} to build the ClanSearch.
+     *
+     * @param clanSearch ClanSearch built by the ClanSearchFactory.
+     * @return Future that completes with the given ClanSearch after the search result is retrieved.
+     */
+    public CompletableFuture<ClanSearch> searchAsync(ClanSearch clanSearch) {
+        return submit(() -> {
+            clanSearch.search();
+            return clanSearch;
+        });
+    }
+
+    /**
+     * This method retrieves the information of all the players with the given tags. At most the parallelism of this
+     * client requests are executed at the same time. A failed request does not fail the other requests, its failure
+     * is reported in the result of its tag instead.
+     *
+     * @param playerTags Players' tags. Tags that normalize to the same tag, for example #2pp and 2PP, are
+     *                   retrieved only once and reported for every given spelling.
+     * @param timeout    Maximum time to wait for the response of a single player.
+     * @param unit       Unit of the timeout.
+     * @return Future that completes with the result of every tag, in the order of the given tags.
+     * The failure of a player that is not answered in time is a
+     * {@link de.ra.exception.serverConnectionException.RequestTimeoutException}.
+     */
+    public CompletableFuture<Map<String, FetchResult<COCPlayers>>> fetchPlayersAsync(Collection<String> playerTags,
+                                                                                      long timeout, TimeUnit unit) {
+        return new BulkFetch<>(playerTags,
+                playerTag -> submit(() -> new COCPlayers(TRANSPORT, playerTag), playerTag, timeout, unit),
+                parallelism).start();
+    }
+
+    /**
+     * This method retrieves the information of all the players with the given tags and waits until every request
+     * is completed. See {@link #fetchPlayersAsync(Collection, long, TimeUnit)}.
+     *
+     * @param playerTags Players' tags. Tags that normalize to the same tag, for example #2pp and 2PP, are
+     *                   retrieved only once and reported for every given spelling.
+     * @param timeout    Maximum time to wait for the response of a single player.
+     * @param unit       Unit of the timeout.
+     * @return Result of every tag, in the order of the given tags.
+     */
+    public Map<String, FetchResult<COCPlayers>> fetchPlayers(Collection<String> playerTags, long timeout, TimeUnit unit) {
+        return fetchPlayersAsync(playerTags, timeout, unit).join();
+    }
+
+    /**
+     * This method retrieves the clan with the given tag and then the information of all its members at the same
+     * time, with at most the parallelism of this client requests at once. The requests are limited by the
+     * {@link de.ra.coc.ServerConnection.RateLimiter} of the tokens as every other request. See
+     * {@link #hydrateClanAsync(String, int, long, TimeUnit)}.
+     *
+     * @param clanTag Clan's tag.
+     * @param timeout Maximum time to wait for the response of the clan and of every single member.
+     * @param unit    Unit of the timeout.
+     * @return Future that completes with the clan and its members.
+     */
+    public CompletableFuture<HydratedClan> hydrateClanAsync(String clanTag, long timeout, TimeUnit unit) {
+        return hydrateClanAsync(clanTag, parallelism, timeout, unit);
+    }
+
+    /**
+     * This method retrieves the clan with the given tag and then the information of all its members at the same
+     * time. The members are taken from the clan's information, so no separate request is sent for the member list.
+     * If the clan fails to load, then the returned future completes exceptionally. A member that fails to load does
+     * not fail the other members, its failure is reported by {@link de.ra.coc.HydratedClan#getFailures()}.
+     *
+     * @param clanTag     Clan's tag.
+     * @param parallelism Maximum number of members retrieved at the same time.
+     * @param timeout     Maximum time to wait for the response of the clan and of every single member.
+     * @param unit        Unit of the timeout.
+     * @return Future that completes with the clan and its members.
+     */
+    public CompletableFuture<HydratedClan> hydrateClanAsync(String clanTag, int parallelism, long timeout, TimeUnit unit) {
+        return submit(() -> new Clan(TRANSPORT, clanTag), clanTag, timeout, unit)
+                .thenCompose(clan -> {
+                    ClanRoster memberList = clan.getClanMemberList();
+                    CompletableFuture<ClanRoster> members = memberList != null ?
+                            CompletableFuture.completedFuture(memberList) :
+                            submit(clan::getClanMembers, clanTag, timeout, unit);
+
+                    return members.thenCompose(roster -> new BulkFetch<>(Arrays.asList(roster.getTags()),
+                            playerTag -> submit(() -> new COCPlayers(TRANSPORT, playerTag), playerTag, timeout, unit),
+                            parallelism).start()
+                            .thenApply(players -> new HydratedClan(clan, roster, players)));
+                });
+    }
+
+    /**
+     * This method retrieves the clan with the given tag and the information of all its members and waits until
+     * every request is completed. See {@link #hydrateClanAsync(String, long, TimeUnit)}.
+     *
+     * @param clanTag Clan's tag.
+     * @param timeout Maximum time to wait for the response of the clan and of every single member.
+     * @param unit    Unit of the timeout.
+     * @return Clan and its members.
+     */
+    public HydratedClan hydrateClan(String clanTag, long timeout, TimeUnit unit) {
+        return hydrateClanAsync(clanTag, timeout, unit).join();
+    }
+
+    /**
+     * This method returns the number of requests of a bulk request that are executed at the same time.
+     *
+     * @return Number of requests that are executed at the same time.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * This method returns the pool of JSON Web Tokens used by this client.
+     *
+     * @return Pool of JSON Web Tokens or null if the requests are not sent with an HttpTransport.
+     */
+    public TokenPool getTokenPool() {
+        return TRANSPORT instanceof HttpTransport ? ((HttpTransport) TRANSPORT).getTokenPool() : null;
+    }
+
+    /**
+     * This method returns the transport that sends the requests of this client.
+     *
+     * @return Transport of this client.
+     */
+    public Transport getTransport() {
+        return TRANSPORT;
+    }
+
+    /**
+     * This method shuts down the executor of this client, if it is created by this client.
+     * Requests that are already submitted are completed.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor)
+            executor.shutdown();
+    }
+
+    <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Executes the given task with a timeout that starts when the task starts, so the time a task waits in the
+     * queue of the executor does not count. The requests of the task are sent with the timeout as deadline, see
+     * {@link de.ra.coc.ServerConnection.ConnectionPool#setRequestDeadline(long, TimeUnit)}, so a request that waits
+     * for the server fails in time. If the task does not complete in time, then its thread is also interrupted and
+     * the returned future fails with a RequestTimeoutException as soon as the task returns. The future never
+     * completes while its task is still running, so a bulk request does not start more requests than its
+     * parallelism.
+     */
+    <T> CompletableFuture<T> submit(Callable<T> task, String request, long timeout, TimeUnit unit) {
+        return submit(() -> {
+            Thread worker = Thread.currentThread();
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            AtomicInteger state = new AtomicInteger(RUNNING);
+            ScheduledFuture<?> expiry = TIMER.schedule(() -> {
+                synchronized (state) {
+                    if (state.compareAndSet(RUNNING, TIMED_OUT))
+                        worker.interrupt();
+                }
+            }, timeout, unit);
+
+            T value = null;
+            Exception failure = null;
+            ConnectionPool.setRequestDeadline(timeout, unit);
+            try {
+                value = task.call();
+            } catch (Exception e) {
+                failure = e;
+            } finally {
+                ConnectionPool.clearRequestDeadline();
+            }
+
+            expiry.cancel(false);
+            synchronized (state) {
+                // A request that failed at the deadline may return before the timer expires.
+                boolean expired = failure != null && System.nanoTime() - deadline >= 0;
+                if (!state.compareAndSet(RUNNING, RETURNED) || expired) {
+                    Thread.interrupted();
+                    throw new RequestTimeoutException(request, unit.toMillis(timeout));
+                }
+            }
+
+            if (failure != null)
+                throw failure;
+            return value;
+        });
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        int clientNumber = CLIENT_COUNT.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "clanJW-client-" + clientNumber + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
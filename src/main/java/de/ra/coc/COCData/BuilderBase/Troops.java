@@ -1,6 +1,7 @@
 package de.ra.coc.COCData.BuilderBase;
 
-import java.util.ArrayList;
+import de.ra.coc.COCData.Unit;
+
 import java.util.List;
 
 /**
@@ -64,24 +65,14 @@ public class Troops {
      */
     public static final String HOG_GLIDER = "Hog Glider";
 
+    private static final List<String> BUILDER_BASE_TROOPS = Unit.getNames(Unit.Category.TROOP, Unit.Resource.BUILDER_ELIXIR);
+
     /**
      * This method returns the list of all troops in builder base.
      *
-     * @return Complete list of troops in builder base.
+     * @return Complete unmodifiable list of troops in builder base.
      */
     public static List<String> getBuilderBaseTroopsList() {
-        return new ArrayList<String>() {{
-            add(RAGED_BARBARIAN);
-            add(SNEAKY_ARCHER);
-            add(BOXER_GIANT);
-            add(BETA_MINION);
-            add(BOMBER);
-            add(BABY_DRAGON);
-            add(CANNON_CART);
-            add(NIGHT_WITCH);
-            add(DROP_SHIP);
-            add(SUPER_PEKKA);
-            add(HOG_GLIDER);
-        }};
+        return BUILDER_BASE_TROOPS;
     }
 }
@@ -1,6 +1,5 @@
 package de.ra.coc.COCData;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,18 +33,14 @@ public class Heroes {
      */
     public static final String BATTLE_MACHINE = "Battle Machine";
 
+    private static final List<String> HEROES = Unit.getNames(Unit.Category.HERO, null);
+
     /**
      * This method returns the list of all heroes in home village.
      *
-     * @return Complete list of heroes in home village.
+     * @return Complete unmodifiable list of heroes in home village.
      */
     public static List<String> getHeroesList() {
-        return new ArrayList<String>() {{
-            add(BARBARIAN_KING);
-            add(ARCHER_QUEEN);
-            add(GRAND_WARDEN);
-            add(ROYAL_CHAMPION);
-            add(BATTLE_MACHINE);
-        }};
+        return HEROES;
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package de.ra.coc.COCData.HomeVillage;
 
-import java.util.ArrayList;
+import de.ra.coc.COCData.Unit;
+
 import java.util.List;
 
 /**
@@ -34,18 +35,14 @@ public class DarkElixirSpell {
      */
     public static final String BAT_SPELL = "Bat Spell";
 
+    private static final List<String> DARK_ELIXIR_SPELLS = Unit.getNames(Unit.Category.SPELL, Unit.Resource.DARK_ELIXIR);
+
     /**
      * This method returns the list of all dark elixir spells in home village.
      *
-     * @return Complete list of dark elixir spells in home village.
+     * @return Complete unmodifiable list of dark elixir spells in home village.
      */
     public static List<String> getDarkElixirSpellsList() {
-        return new ArrayList<String>() {{
-            add(POISON_SPELL);
-            add(EARTHQUAKE_SPELL);
-            add(HASTE_SPELL);
-            add(SKELETON_SPELL);
-            add(BAT_SPELL);
-        }};
+        return DARK_ELIXIR_SPELLS;
     }
 }
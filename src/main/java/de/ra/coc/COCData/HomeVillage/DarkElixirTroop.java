@@ -1,6 +1,7 @@
 package de.ra.coc.COCData.HomeVillage;
 
-import java.util.ArrayList;
+import de.ra.coc.COCData.Unit;
+
 import java.util.List;
 
 /**
@@ -49,21 +50,14 @@ public class DarkElixirTroop {
      */
     public static final String ICE_GOLEM = "Ice Golem";
 
+    private static final List<String> DARK_ELIXIR_TROOPS = Unit.getNames(Unit.Category.TROOP, Unit.Resource.DARK_ELIXIR);
+
     /**
      * This method returns the list of all dark elixir troops in home village.
      *
-     * @return Complete list of dark elixir troops in home village.
+     * @return Complete unmodifiable list of dark elixir troops in home village.
      */
     public static List<String> getDarkElixirTroopsList() {
-        return new ArrayList<String>() {{
-            add(MINION);
-            add(HOG_RIDER);
-            add(VALKYRIE);
-            add(GOLEM);
-            add(WITCH);
-            add(LAVA_HOUND);
-            add(BOWLER);
-            add(ICE_GOLEM);
-        }};
+        return DARK_ELIXIR_TROOPS;
     }
 }
@@ -1,6 +1,7 @@
 package de.ra.coc.COCData.HomeVillage;
 
-import java.util.ArrayList;
+import de.ra.coc.COCData.Unit;
+
 import java.util.List;
 
 /**
@@ -39,19 +40,14 @@ public class ElixirSpell {
      */
     public static final String CLONE_SPELL = "Clone Spell";
 
+    private static final List<String> ELIXIR_SPELLS = Unit.getNames(Unit.Category.SPELL, Unit.Resource.ELIXIR);
+
     /**
      * This method returns the list of all elixir spells in home village.
      *
-     * @return Complete list of elixir spells in home village.
+     * @return Complete unmodifiable list of elixir spells in home village.
      */
     public static List<String> getElixirSpellsList() {
-        return new ArrayList<String>() {{
-            add(LIGHTNING_SPELL);
-            add(HEALING_SPELL);
-            add(RAGE_SPELL);
-            add(JUMP_SPELL);
-            add(FREEZE_SPELL);
-            add(CLONE_SPELL);
-        }};
+        return ELIXIR_SPELLS;
     }
 }
@@ -1,6 +1,7 @@
 package de.ra.coc.COCData.HomeVillage;
 
-import java.util.ArrayList;
+import de.ra.coc.COCData.Unit;
+
 import java.util.List;
 
 /**
@@ -79,27 +80,14 @@ public class ElixirTroop {
      */
     public static final String YETI = "Yeti";
 
+    private static final List<String> ELIXIR_TROOPS = Unit.getNames(Unit.Category.TROOP, Unit.Resource.ELIXIR);
+
     /**
      * This method returns the list of all elixir troops in home village.
      *
-     * @return Complete list of elixir troops in home village.
+     * @return Complete unmodifiable list of elixir troops in home village.
      */
     public static List<String> getElixirTroopsList() {
-        return new ArrayList<String>() {{
-            add(BARBARIAN);
-            add(ARCHER);
-            add(GIANT);
-            add(GOBLIN);
-            add(WALL_BREAKER);
-            add(BALLOON);
-            add(WIZARD);
-            add(HEALER);
-            add(DRAGON);
-            add(PEKKA);
-            add(BABY_DRAGON);
-            add(MINER);
-            add(ELECTRO_DRAGON);
-            add(YETI);
-        }};
+        return ELIXIR_TROOPS;
     }
 }
@@ -0,0 +1,294 @@
+package de.ra.coc.COCData;
+
+import de.ra.coc.COCData.BuilderBase.Troops;
+import de.ra.coc.COCData.HomeVillage.DarkElixirSpell;
+import de.ra.coc.COCData.HomeVillage.DarkElixirTroop;
+import de.ra.coc.COCData.HomeVillage.ElixirSpell;
+import de.ra.coc.COCData.HomeVillage.ElixirTroop;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This enum is the registry of all the troops, spells and heroes of the Clash of Clan. Every unit knows its
+ * category, village and the resource used to upgrade it. A unit is looked up by its name without iterating the
+ * registry, and the units of a category, village or resource are returned as EnumSet.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public enum Unit {
+    BARBARIAN(ElixirTroop.BARBARIAN, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    ARCHER(ElixirTroop.ARCHER, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    GIANT(ElixirTroop.GIANT, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    GOBLIN(ElixirTroop.GOBLIN, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    WALL_BREAKER(ElixirTroop.WALL_BREAKER, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    BALLOON(ElixirTroop.BALLOON, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    WIZARD(ElixirTroop.WIZARD, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    HEALER(ElixirTroop.HEALER, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    DRAGON(ElixirTroop.DRAGON, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    PEKKA(ElixirTroop.PEKKA, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    BABY_DRAGON(ElixirTroop.BABY_DRAGON, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    MINER(ElixirTroop.MINER, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    ELECTRO_DRAGON(ElixirTroop.ELECTRO_DRAGON, Category.TROOP, Village.HOME, Resource.ELIXIR),
+    YETI(ElixirTroop.YETI, Category.TROOP, Village.HOME, Resource.ELIXIR),
+
+    MINION(DarkElixirTroop.MINION, Category.TROOP, Village.HOME, Resource.DARK_ELIXIR),
+    HOG_RIDER(DarkElixirTroop.HOG_RIDER, Category.TROOP, Village.HOME, Resource.DARK_ELIXIR),
+    VALKYRIE(DarkElixirTroop.VALKYRIE, Category.TROOP, Village.HOME, Resource.DARK_ELIXIR),
+    GOLEM(DarkElixirTroop.GOLEM, Category.TROOP, Village.HOME, Resource.DARK_ELIXIR),
+    WITCH(DarkElixirTroop.WITCH, Category.TROOP, Village.HOME, Resource.DARK_ELIXIR),
+    LAVA_HOUND(DarkElixirTroop.LAVA_HOUND, Category.TROOP, Village.HOME, Resource.DARK_ELIXIR),
+    BOWLER(DarkElixirTroop.BOWLER, Category.TROOP, Village.HOME, Resource.DARK_ELIXIR),
+    ICE_GOLEM(DarkElixirTroop.ICE_GOLEM, Category.TROOP, Village.HOME, Resource.DARK_ELIXIR),
+
+    RAGED_BARBARIAN(Troops.RAGED_BARBARIAN, Category.TROOP, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR),
+    SNEAKY_ARCHER(Troops.SNEAKY_ARCHER, Category.TROOP, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR),
+    BOXER_GIANT(Troops.BOXER_GIANT, Category.TROOP, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR),
+    BETA_MINION(Troops.BETA_MINION, Category.TROOP, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR),
+    BOMBER(Troops.BOMBER, Category.TROOP, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR),
+    BUILDER_BASE_BABY_DRAGON(Troops.BABY_DRAGON, Category.TROOP, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR),
+    CANNON_CART(Troops.CANNON_CART, Category.TROOP, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR),
+    NIGHT_WITCH(Troops.NIGHT_WITCH, Category.TROOP, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR),
+    DROP_SHIP(Troops.DROP_SHIP, Category.TROOP, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR),
+    SUPER_PEKKA(Troops.SUPER_PEKKA, Category.TROOP, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR),
+    HOG_GLIDER(Troops.HOG_GLIDER, Category.TROOP, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR),
+
+    LIGHTNING_SPELL(ElixirSpell.LIGHTNING_SPELL, Category.SPELL, Village.HOME, Resource.ELIXIR),
+    HEALING_SPELL(ElixirSpell.HEALING_SPELL, Category.SPELL, Village.HOME, Resource.ELIXIR),
+    RAGE_SPELL(ElixirSpell.RAGE_SPELL, Category.SPELL, Village.HOME, Resource.ELIXIR),
+    JUMP_SPELL(ElixirSpell.JUMP_SPELL, Category.SPELL, Village.HOME, Resource.ELIXIR),
+    FREEZE_SPELL(ElixirSpell.FREEZE_SPELL, Category.SPELL, Village.HOME, Resource.ELIXIR),
+    CLONE_SPELL(ElixirSpell.CLONE_SPELL, Category.SPELL, Village.HOME, Resource.ELIXIR),
+
+    POISON_SPELL(DarkElixirSpell.POISON_SPELL, Category.SPELL, Village.HOME, Resource.DARK_ELIXIR),
+    EARTHQUAKE_SPELL(DarkElixirSpell.EARTHQUAKE_SPELL, Category.SPELL, Village.HOME, Resource.DARK_ELIXIR),
+    HASTE_SPELL(DarkElixirSpell.HASTE_SPELL, Category.SPELL, Village.HOME, Resource.DARK_ELIXIR),
+    SKELETON_SPELL(DarkElixirSpell.SKELETON_SPELL, Category.SPELL, Village.HOME, Resource.DARK_ELIXIR),
+    BAT_SPELL(DarkElixirSpell.BAT_SPELL, Category.SPELL, Village.HOME, Resource.DARK_ELIXIR),
+
+    BARBARIAN_KING(Heroes.BARBARIAN_KING, Category.HERO, Village.HOME, Resource.DARK_ELIXIR),
+    ARCHER_QUEEN(Heroes.ARCHER_QUEEN, Category.HERO, Village.HOME, Resource.DARK_ELIXIR),
+    GRAND_WARDEN(Heroes.GRAND_WARDEN, Category.HERO, Village.HOME, Resource.ELIXIR),
+    ROYAL_CHAMPION(Heroes.ROYAL_CHAMPION, Category.HERO, Village.HOME, Resource.DARK_ELIXIR),
+    BATTLE_MACHINE(Heroes.BATTLE_MACHINE, Category.HERO, Village.BUILDER_BASE, Resource.BUILDER_ELIXIR);
+
+    /**
+     * Category of a unit. The key is the name of the category in the player information.
+     */
+    public enum Category {
+        TROOP("troops"), SPELL("spells"), HERO("heroes");
+
+        private final String key;
+
+        Category(String key) {
+            this.key = key;
+        }
+
+        /**
+         * This method returns the name of the category in the player information.
+         *
+         * @return Name of the category. Example: troops, spells, heroes.
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * Village of a unit. The key is the name of the village in the player information.
+     */
+    public enum Village {
+        HOME("home"), BUILDER_BASE("builderBase");
+
+        private final String key;
+
+        Village(String key) {
+            this.key = key;
+        }
+
+        /**
+         * This method returns the name of the village in the player information.
+         *
+         * @return Name of the village. Example: home, builderBase.
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * Resource used to upgrade a unit.
+     */
+    public enum Resource {
+        ELIXIR, DARK_ELIXIR, BUILDER_ELIXIR
+    }
+
+    private static final Map<String, Unit> BY_NAME = new HashMap<>();
+    private static final Map<Category, Map<String, Unit>> BY_CATEGORY_AND_NAME = new EnumMap<>(Category.class);
+    private static final Map<Category, Set<Unit>> BY_CATEGORY = new EnumMap<>(Category.class);
+    private static final Map<Village, Set<Unit>> BY_VILLAGE = new EnumMap<>(Village.class);
+    private static final Map<Resource, Set<Unit>> BY_RESOURCE = new EnumMap<>(Resource.class);
+
+    static {
+        for (Category category : Category.values()) {
+            BY_CATEGORY_AND_NAME.put(category, new HashMap<String, Unit>());
+            BY_CATEGORY.put(category, EnumSet.noneOf(Unit.class));
+        }
+        for (Village village : Village.values())
+            BY_VILLAGE.put(village, EnumSet.noneOf(Unit.class));
+        for (Resource resource : Resource.values())
+            BY_RESOURCE.put(resource, EnumSet.noneOf(Unit.class));
+
+        for (Unit unit : values()) {
+            if (!BY_NAME.containsKey(unit.name))
+                BY_NAME.put(unit.name, unit);
+            if (!BY_CATEGORY_AND_NAME.get(unit.category).containsKey(unit.name))
+                BY_CATEGORY_AND_NAME.get(unit.category).put(unit.name, unit);
+            BY_CATEGORY.get(unit.category).add(unit);
+            BY_VILLAGE.get(unit.village).add(unit);
+            BY_RESOURCE.get(unit.resource).add(unit);
+        }
+
+        for (Map.Entry<Category, Set<Unit>> entry : BY_CATEGORY.entrySet())
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        for (Map.Entry<Village, Set<Unit>> entry : BY_VILLAGE.entrySet())
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        for (Map.Entry<Resource, Set<Unit>> entry : BY_RESOURCE.entrySet())
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+    }
+
+    private final String name;
+    private final Category category;
+    private final Village village;
+    private final Resource resource;
+
+    Unit(String name, Category category, Village village, Resource resource) {
+        this.name = name;
+        this.category = category;
+        this.village = village;
+        this.resource = resource;
+    }
+
+    /**
+     * This method returns the unit of the given name. If the name is used in both villages, then the unit of the
+     * home village is returned.
+     *
+     * @param name Unit name. Example: Archer, Lightning Spell, Barbarian King etc.
+     * @return Unit of the given name or null if the name is not valid.
+     */
+    public static Unit forName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * This method returns the unit of the given category and name. If the name is used in both villages, then the
+     * unit of the home village is returned.
+     *
+     * @param category Category of the unit.
+     * @param name     Unit name. Example: Archer, Lightning Spell, Barbarian King etc.
+     * @return Unit of the given category and name or null if the name is not valid.
+     */
+    public static Unit forName(Category category, String name) {
+        return BY_CATEGORY_AND_NAME.get(category).get(name);
+    }
+
+    /**
+     * This method checks whether the given name is a unit of the given category.
+     *
+     * @param category Category of the unit.
+     * @param name     Unit name. Example: Archer, Lightning Spell, Barbarian King etc.
+     * @return true if the name is a unit of the given category, false otherwise.
+     */
+    public static boolean isUnit(Category category, String name) {
+        return BY_CATEGORY_AND_NAME.get(category).containsKey(name);
+    }
+
+    /**
+     * This method returns all the units of the given category.
+     *
+     * @param category Category of the units.
+     * @return Unmodifiable EnumSet of the units.
+     */
+    public static Set<Unit> of(Category category) {
+        return BY_CATEGORY.get(category);
+    }
+
+    /**
+     * This method returns all the units of the given village.
+     *
+     * @param village Village of the units.
+     * @return Unmodifiable EnumSet of the units.
+     */
+    public static Set<Unit> of(Village village) {
+        return BY_VILLAGE.get(village);
+    }
+
+    /**
+     * This method returns all the units upgraded with the given resource.
+     *
+     * @param resource Resource used to upgrade the units.
+     * @return Unmodifiable EnumSet of the units.
+     */
+    public static Set<Unit> of(Resource resource) {
+        return BY_RESOURCE.get(resource);
+    }
+
+    /**
+     * This method returns the names of all the units of the given category that are upgraded with the given
+     * resource in the order of this enum.
+     *
+     * @param category Category of the units.
+     * @param resource Resource used to upgrade the units. null means all the resources.
+     * @return Unmodifiable list of the unit names.
+     */
+    public static List<String> getNames(Category category, Resource resource) {
+        List<String> names = new ArrayList<>();
+        for (Unit unit : of(category)) {
+            if (resource == null || unit.resource == resource)
+                names.add(unit.name);
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * This method returns the name of the unit.
+     *
+     * @return Unit name. Example: Archer, Lightning Spell, Barbarian King etc.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * This method returns the category of the unit.
+     *
+     * @return Category of the unit.
+     */
+    public Category getCategory() {
+        return category;
+    }
+
+    /**
+     * This method returns the village of the unit.
+     *
+     * @return Village of the unit.
+     */
+    public Village getVillage() {
+        return village;
+    }
+
+    /**
+     * This method returns the resource used to upgrade the unit.
+     *
+     * @return Resource used to upgrade the unit.
+     */
+    public Resource getResource() {
+        return resource;
+    }
+}
@@ -0,0 +1,23 @@
+package de.ra.coc.COCData;
+
+/**
+ * This enum represents whether a troop, spell or hero is unlocked by a player.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public enum UnlockStatus {
+    /**
+     * The unit is unlocked by the player.
+     */
+    UNLOCKED,
+
+    /**
+     * The unit is known, but not yet unlocked by the player.
+     */
+    NOT_UNLOCKED,
+
+    /**
+     * The name is not the name of a known unit of the requested category.
+     */
+    UNKNOWN
+}
@@ -1,12 +1,10 @@
 package de.ra.coc;
 
-import de.ra.coc.COCData.BuilderBase.Troops;
-import de.ra.coc.COCData.Heroes;
-import de.ra.coc.COCData.HomeVillage.DarkElixirSpell;
-import de.ra.coc.COCData.HomeVillage.DarkElixirTroop;
-import de.ra.coc.COCData.HomeVillage.ElixirSpell;
-import de.ra.coc.COCData.HomeVillage.ElixirTroop;
-import de.ra.coc.ServerConnection.HttpConnection;
+import de.ra.coc.COCData.Unit;
+import de.ra.coc.COCData.UnlockStatus;
+import de.ra.coc.ServerConnection.HttpTransport;
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.coc.ServerConnection.Transport;
 import de.ra.exception.IllegalNameException.IllegalHeroNameException;
 import de.ra.exception.IllegalNameException.IllegalSpellNameException;
 import de.ra.exception.IllegalNameException.IllegalTroopNameException;
@@ -19,11 +17,12 @@ import de.ra.exception.tagException.InvalidPlayerTagException;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.owasp.html.PolicyFactory;
-import org.owasp.html.Sanitizers;
 
 import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalInt;
 
 /**
  * The COCPlayers class represents the Clash of Clan's Player.
@@ -34,9 +33,11 @@ import java.net.URLEncoder;
  * @author Ranjith Krishnamurthy
  */
 public class COCPlayers {
-    private String JWTOKEN;
+    private Transport TRANSPORT;
     private String PLAYER_TAG;
     private JSONObject PLAYER_INFORMATION;
+    private PlayerSnapshot PLAYER_SNAPSHOT;
+    private Map<Unit.Category, Map<String, JSONObject>> UNIT_INDEX;
 
     /**
      * Initialize newly constructed COCPlayer with the passed JSON Web Token and player's tag and retrieves the players information
@@ -51,7 +52,36 @@ public class COCPlayers {
      * @throws UnsupportedEncodingException If the given player tag is failed to encode to avoid taint-style vulnerabilities.
      */
     public COCPlayers(String JWToken, String PLAYER_TAG) throws COCServerConnectionException, InvalidPlayerTagException, UnsupportedEncodingException {
-        JWTOKEN = JWToken;
+        this(TokenPool.of(JWToken), PLAYER_TAG);
+    }
+
+    /**
+     * Initialize newly constructed COCPlayer with the passed pool of JSON Web Tokens and player's tag and retrieves
+     * the players information from the Clash of Clan server. Every request of this player is sent with a token of
+     * the pool, see {@link de.ra.coc.ServerConnection.TokenPool}.
+     *
+     * @param tokenPool  Pool of JSON Web Tokens.
+     * @param PLAYER_TAG Player's tag.
+     * @throws COCServerConnectionException If the connection to Clash of Clan server is failed.
+     * @throws InvalidPlayerTagException    If the given player tag contains invalid character or not found in Clash of Clans server.
+     * @throws UnsupportedEncodingException If the given player tag is failed to encode to avoid taint-style vulnerabilities.
+     */
+    public COCPlayers(TokenPool tokenPool, String PLAYER_TAG) throws COCServerConnectionException, InvalidPlayerTagException, UnsupportedEncodingException {
+        this(new HttpTransport(tokenPool), PLAYER_TAG);
+    }
+
+    /**
+     * Initialize newly constructed COCPlayer with the passed transport and player's tag and retrieves the players
+     * information with the transport, see {@link de.ra.coc.ServerConnection.Transport}.
+     *
+     * @param transport  Transport that sends the requests.
+     * @param PLAYER_TAG Player's tag.
+     * @throws COCServerConnectionException If the connection to the server is failed.
+     * @throws InvalidPlayerTagException    If the given player tag contains invalid character or not found in Clash of Clans server.
+     * @throws UnsupportedEncodingException If the given player tag is failed to encode to avoid taint-style vulnerabilities.
+     */
+    public COCPlayers(Transport transport, String PLAYER_TAG) throws COCServerConnectionException, InvalidPlayerTagException, UnsupportedEncodingException {
+        TRANSPORT = transport;
         changePlayerTag(PLAYER_TAG);
     }
 
@@ -65,27 +95,39 @@ public class COCPlayers {
      * @throws UnsupportedEncodingException If the given player tag is failed to encode to avoid taint-style vulnerabilities.
      */
     public void changePlayerTag(String PLAYER_TAG) throws COCServerConnectionException, UnsupportedEncodingException, InvalidPlayerTagException {
-        PolicyFactory myPF = Sanitizers.BLOCKS
-                .and(Sanitizers.FORMATTING)
-                .and(Sanitizers.IMAGES)
-                .and(Sanitizers.LINKS)
-                .and(Sanitizers.STYLES)
-                .and(Sanitizers.TABLES);
-
-        PLAYER_TAG = myPF.sanitize(PLAYER_TAG);
-        PLAYER_TAG = URLEncoder.encode(PLAYER_TAG, "UTF-8");
+        String encodedTag = COCTag.encode(PLAYER_TAG);
+        if (encodedTag == null)
+            throw new InvalidPlayerTagException(PLAYER_TAG);
+        PLAYER_TAG = encodedTag;
 
         try {
-            PLAYER_INFORMATION = HttpConnection.connectAndGetResults(
-                    HttpConnection.API_LINK + HttpConnection.API_VERSION + "/players/" + PLAYER_TAG,
-                    PLAYER_TAG,
-                    JWTOKEN
+            PLAYER_INFORMATION = TRANSPORT.get(
+                    TRANSPORT.getBaseLink() + "/players/" + PLAYER_TAG,
+                    PLAYER_TAG
             );
+            PLAYER_SNAPSHOT = null;
+            buildUnitIndex();
         } catch (InvalidItemTagException e) {
             throw new InvalidPlayerTagException(PLAYER_TAG);
         }
     }
 
+    /**
+     * This method returns the immutable snapshot of the player's information. The snapshot is decoded only once
+     * for the information retrieved from the Clash of Clan server, so it is the fastest way to read many values
+     * of the same player. After {@link #changePlayerTag(String)} this method returns the snapshot of the new player.
+     *
+     * @return Snapshot of the player's information.
+     */
+    public PlayerSnapshot getPlayerSnapshot() {
+        PlayerSnapshot snapshot = PLAYER_SNAPSHOT;
+        if (snapshot == null) {
+            snapshot = PlayerSnapshot.fromJSON(PLAYER_INFORMATION);
+            PLAYER_SNAPSHOT = snapshot;
+        }
+        return snapshot;
+    }
+
     /**
      * This method returns the players clan information in JSONObject format.
      *
@@ -324,33 +366,40 @@ public class COCPlayers {
         return PLAYER_INFORMATION.has("donationsReceived") ? (Integer) PLAYER_INFORMATION.get("donationsReceived") : 0;
     }
 
-    private Integer getIndex(String category, String key) throws JSONException {
-        JSONArray troops = PLAYER_INFORMATION.getJSONArray(category);
-        for (int index = 0; index < troops.length(); index++) {
-            JSONObject troop = (JSONObject) troops.get(index);
-            if (troop.get("name").equals(key))
-                return index;
+    private void buildUnitIndex() {
+        Map<Unit.Category, Map<String, JSONObject>> unitIndex = new EnumMap<>(Unit.Category.class);
+        for (Unit.Category category : Unit.Category.values()) {
+            Map<String, JSONObject> units = new LinkedHashMap<>();
+            JSONArray array = PLAYER_INFORMATION.optJSONArray(category.getKey());
+            if (array != null) {
+                for (int index = 0; index < array.length(); index++) {
+                    JSONObject unit = array.optJSONObject(index);
+                    String name = unit == null ? null : unit.optString("name", null);
+                    if (name != null && !units.containsKey(name))
+                        units.put(name, unit);
+                }
+            }
+            unitIndex.put(category, units);
         }
+        UNIT_INDEX = unitIndex;
+    }
 
-        if ("troops".equals(category) && ElixirTroop.getElixirTroopsList().contains(key))
-            return 100;
-
-        if ("spells".equals(category) && ElixirSpell.getElixirSpellsList().contains(key))
-            return 100;
-
-        if ("spells".equals(category) && DarkElixirSpell.getDarkElixirSpellsList().contains(key))
-            return 100;
-
-        if ("troops".equals(category) && DarkElixirTroop.getDarkElixirTroopsList().contains(key))
-            return 100;
-
-        if ("troops".equals(category) && Troops.getBuilderBaseTroopsList().contains(key))
-            return 100;
+    private JSONObject getUnit(Unit.Category category, String key) {
+        return UNIT_INDEX.get(category).get(key);
+    }
 
-        if ("heroes".equals(category) && Heroes.getHeroesList().contains(key))
-            return 100;
+    private UnlockStatus getUnlockStatus(Unit.Category category, String name) {
+        if (getUnit(category, name) != null)
+            return UnlockStatus.UNLOCKED;
+        return Unit.isUnit(category, name) ? UnlockStatus.NOT_UNLOCKED : UnlockStatus.UNKNOWN;
+    }
 
-        return 500;
+    private Map<String, Integer> getUnitLevels(Unit.Category category) throws JSONException {
+        Map<String, JSONObject> units = UNIT_INDEX.get(category);
+        Map<String, Integer> levels = new LinkedHashMap<>(units.size() * 2);
+        for (Map.Entry<String, JSONObject> unit : units.entrySet())
+            levels.put(unit.getKey(), unit.getValue().getInt("level"));
+        return levels;
     }
 
     /**
@@ -371,6 +420,39 @@ public class COCPlayers {
         return (Integer) getPlayerSingleTroopInfo(troopName).get("level");
     }
 
+    /**
+     * This method returns the player's current level of the given troop name without throwing an exception if the
+     * troop is not unlocked. See {@link #getTroopUnlockStatus(String)} to distinguish a troop that is not unlocked
+     * from an invalid troop name.
+     *
+     * @param troopName Troop name. Example: ARCHER, Wizard etc.
+     *                  See the list of all troops
+     *                  {@link de.ra.coc.COCData.HomeVillage.ElixirTroop}
+     *                  {@link de.ra.coc.COCData.HomeVillage.DarkElixirTroop}
+     *                  {@link de.ra.coc.COCData.BuilderBase.Troops}
+     * @return Current level of the troop, or an empty OptionalInt if the troop is not unlocked by the player or the
+     * troop name is not valid.
+     */
+    public OptionalInt findPlayerTroopLevel(String troopName) {
+        JSONObject unit = getUnit(Unit.Category.TROOP, troopName);
+        return unit == null ? OptionalInt.empty() : OptionalInt.of(unit.optInt("level", 0));
+    }
+
+    /**
+     * This method returns whether the given troop is unlocked by the player without throwing an exception.
+     *
+     * @param troopName Troop name. Example: ARCHER, Wizard etc.
+     *                  See the list of all troops
+     *                  {@link de.ra.coc.COCData.HomeVillage.ElixirTroop}
+     *                  {@link de.ra.coc.COCData.HomeVillage.DarkElixirTroop}
+     *                  {@link de.ra.coc.COCData.BuilderBase.Troops}
+     * @return UNLOCKED if the troop is unlocked by the player, NOT_UNLOCKED if the troop is not yet unlocked,
+     * UNKNOWN if the troop name is not valid.
+     */
+    public UnlockStatus getTroopUnlockStatus(String troopName) {
+        return getUnlockStatus(Unit.Category.TROOP, troopName);
+    }
+
     /**
      * This method returns the Player's current troops information in JSONArray format.
      *
@@ -381,6 +463,18 @@ public class COCPlayers {
         return PLAYER_INFORMATION.getJSONArray("troops");
     }
 
+    /**
+     * This method returns the current level of all the troops unlocked by the player in one pass.
+     * If a troop is available in more than one village, then the level of the first one is returned,
+     * same as {@link #getPlayerTroopLevel(String)}.
+     *
+     * @return Current levels by troop name in the order of the Clash of Clan server.
+     * @throws JSONException If the processing of JSONObject is failed.
+     */
+    public Map<String, Integer> getPlayerTroopLevels() throws JSONException {
+        return getUnitLevels(Unit.Category.TROOP);
+    }
+
     /**
      * This method return the maximum level of a troop unlocked by the player.
      *
@@ -446,18 +540,15 @@ public class COCPlayers {
      * @throws IllegalTroopNameException If the provided the troop name is not valid.
      */
     public JSONObject getPlayerSingleTroopInfo(String troopName) throws JSONException, IllegalTroopNameException, TroopNotUnlockedException {
-        Integer index = getIndex("troops", troopName);
+        JSONObject unit = getUnit(Unit.Category.TROOP, troopName);
+        if (unit != null)
+            return unit;
 
-        if (index == 100)
+        if (Unit.isUnit(Unit.Category.TROOP, troopName))
             throw new TroopNotUnlockedException(troopName,
                     (String) PLAYER_INFORMATION.get("name"));
 
-        if (index == 500)
-            throw new IllegalTroopNameException(troopName);
-
-        return (JSONObject) PLAYER_INFORMATION
-                .getJSONArray("troops")
-                .get(index);
+        throw new IllegalTroopNameException(troopName);
     }
 
     /**
@@ -473,18 +564,15 @@ public class COCPlayers {
      * @throws IllegalSpellNameException If the provided the troop name is not valid.
      */
     public JSONObject getPlayerSingleSpellInfo(String spellName) throws JSONException, SpellNotUnlockedException, IllegalSpellNameException {
-        Integer index = getIndex("spells", spellName);
+        JSONObject unit = getUnit(Unit.Category.SPELL, spellName);
+        if (unit != null)
+            return unit;
 
-        if (index == 100)
+        if (Unit.isUnit(Unit.Category.SPELL, spellName))
             throw new SpellNotUnlockedException(spellName,
                     (String) PLAYER_INFORMATION.get("name"));
 
-        if (index == 500)
-            throw new IllegalSpellNameException(spellName);
-
-        return (JSONObject) PLAYER_INFORMATION
-                .getJSONArray("spells")
-                .get(index);
+        throw new IllegalSpellNameException(spellName);
     }
 
     /**
@@ -504,6 +592,37 @@ public class COCPlayers {
         return (Integer) getPlayerSingleSpellInfo(spellName).get("level");
     }
 
+    /**
+     * This method returns the player's current level of the given spell name without throwing an exception if the
+     * spell is not unlocked. See {@link #getSpellUnlockStatus(String)} to distinguish a spell that is not unlocked
+     * from an invalid spell name.
+     *
+     * @param spellName Spell name. Example: Lightning spell, Haste spell etc.
+     *                  See the list of all spells
+     *                  {@link de.ra.coc.COCData.HomeVillage.ElixirSpell}
+     *                  {@link de.ra.coc.COCData.HomeVillage.DarkElixirSpell}
+     * @return Current level of the spell, or an empty OptionalInt if the spell is not unlocked by the player or the
+     * spell name is not valid.
+     */
+    public OptionalInt findPlayerSpellLevel(String spellName) {
+        JSONObject unit = getUnit(Unit.Category.SPELL, spellName);
+        return unit == null ? OptionalInt.empty() : OptionalInt.of(unit.optInt("level", 0));
+    }
+
+    /**
+     * This method returns whether the given spell is unlocked by the player without throwing an exception.
+     *
+     * @param spellName Spell name. Example: Lightning spell, Haste spell etc.
+     *                  See the list of all spells
+     *                  {@link de.ra.coc.COCData.HomeVillage.ElixirSpell}
+     *                  {@link de.ra.coc.COCData.HomeVillage.DarkElixirSpell}
+     * @return UNLOCKED if the spell is unlocked by the player, NOT_UNLOCKED if the spell is not yet unlocked,
+     * UNKNOWN if the spell name is not valid.
+     */
+    public UnlockStatus getSpellUnlockStatus(String spellName) {
+        return getUnlockStatus(Unit.Category.SPELL, spellName);
+    }
+
     /**
      * This method returns the Player's current spells information in JSONArray format.
      *
@@ -515,6 +634,18 @@ public class COCPlayers {
         return PLAYER_INFORMATION.getJSONArray("spells");
     }
 
+    /**
+     * This method returns the current level of all the spells unlocked by the player in one pass.
+     * If a spell is available in more than one village, then the level of the first one is returned,
+     * same as {@link #getPlayerSpellLevel(String)}.
+     *
+     * @return Current levels by spell name in the order of the Clash of Clan server.
+     * @throws JSONException If the processing of JSONObject is failed.
+     */
+    public Map<String, Integer> getPlayerSpellLevels() throws JSONException {
+        return getUnitLevels(Unit.Category.SPELL);
+    }
+
     /**
      * This method return the maximum level of a spell unlocked by the player.
      *
@@ -574,18 +705,15 @@ public class COCPlayers {
      * @throws IllegalHeroNameException If the provided the hero name is not valid.
      */
     public JSONObject getPlayerSingleHeroInfo(String heroName) throws JSONException, HeroNotUnlockedException, IllegalHeroNameException {
-        Integer index = getIndex("heroes", heroName);
+        JSONObject unit = getUnit(Unit.Category.HERO, heroName);
+        if (unit != null)
+            return unit;
 
-        if (index == 100)
+        if (Unit.isUnit(Unit.Category.HERO, heroName))
             throw new HeroNotUnlockedException(heroName,
                     (String) PLAYER_INFORMATION.get("name"));
 
-        if (index == 500)
-            throw new IllegalHeroNameException(heroName);
-
-        return (JSONObject) PLAYER_INFORMATION
-                .getJSONArray("heroes")
-                .get(index);
+        throw new IllegalHeroNameException(heroName);
     }
 
     /**
@@ -603,6 +731,33 @@ public class COCPlayers {
         return (Integer) getPlayerSingleHeroInfo(heroName).get("level");
     }
 
+    /**
+     * This method returns the player's current level of the given hero name without throwing an exception if the
+     * hero is not unlocked. See {@link #getHeroUnlockStatus(String)} to distinguish a hero that is not unlocked
+     * from an invalid hero name.
+     *
+     * @param heroName Hero name. Example: Barbarian King, Archer Queen etc.
+     *                 See the list of all heroes {@link de.ra.coc.COCData.Heroes}
+     * @return Current level of the hero, or an empty OptionalInt if the hero is not unlocked by the player or the
+     * hero name is not valid.
+     */
+    public OptionalInt findPlayerHeroLevel(String heroName) {
+        JSONObject unit = getUnit(Unit.Category.HERO, heroName);
+        return unit == null ? OptionalInt.empty() : OptionalInt.of(unit.optInt("level", 0));
+    }
+
+    /**
+     * This method returns whether the given hero is unlocked by the player without throwing an exception.
+     *
+     * @param heroName Hero name. Example: Barbarian King, Archer Queen etc.
+     *                 See the list of all heroes {@link de.ra.coc.COCData.Heroes}
+     * @return UNLOCKED if the hero is unlocked by the player, NOT_UNLOCKED if the hero is not yet unlocked,
+     * UNKNOWN if the hero name is not valid.
+     */
+    public UnlockStatus getHeroUnlockStatus(String heroName) {
+        return getUnlockStatus(Unit.Category.HERO, heroName);
+    }
+
     /**
      * This method returns the Player's current heroes information in JSONArray format.
      *
@@ -614,6 +769,18 @@ public class COCPlayers {
         return PLAYER_INFORMATION.getJSONArray("heroes");
     }
 
+    /**
+     * This method returns the current level of all the heroes unlocked by the player in one pass.
+     * If a hero is available in more than one village, then the level of the first one is returned,
+     * same as {@link #getPlayerHeroLevel(String)}.
+     *
+     * @return Current levels by hero name in the order of the Clash of Clan server.
+     * @throws JSONException If the processing of JSONObject is failed.
+     */
+    public Map<String, Integer> getPlayerHeroLevels() throws JSONException {
+        return getUnitLevels(Unit.Category.HERO);
+    }
+
     /**
      * This method return the maximum level of a hero unlocked by the player.
      *
@@ -0,0 +1,97 @@
+package de.ra.coc;
+
+/**
+ * This class normalizes and validates the tags of players, clans and clan war league wars. A tag is converted to
+ * upper case, gets the '#' prefix if it is missing, and the letter O is replaced by the digit 0, as they are often
+ * confused. Only the characters of the tag alphabet of the Clash of Clan server are accepted, so a malformed tag is
+ * rejected without a request.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public final class COCTag {
+    /**
+     * Characters that are used in the tags of the Clash of Clan server.
+     */
+    public static final String ALPHABET = "0289PYLQGRJCUV";
+
+    /**
+     * Maximum number of characters of a tag without the '#' prefix.
+     */
+    public static final int MAX_LENGTH = 15;
+
+    private static final char[] CHARACTERS = new char[128];
+
+    static {
+        for (char character : ALPHABET.toCharArray()) {
+            CHARACTERS[character] = character;
+            CHARACTERS[Character.toLowerCase(character)] = character;
+        }
+        CHARACTERS['O'] = '0';
+        CHARACTERS['o'] = '0';
+    }
+
+    private COCTag() {
+    }
+
+    /**
+     * This method normalizes the given tag.
+     *
+     * @param tag Tag with or without the '#' prefix. Example: #2pp, 2PP
+     * @return Normalized tag with the '#' prefix or null if the tag is malformed. Example: #2PP
+     */
+    public static String normalize(String tag) {
+        return convert(tag, "#");
+    }
+
+    /**
+     * This method normalizes the given tag and encodes it for the links of the Clash of Clan API.
+     *
+     * @param tag Tag with or without the '#' prefix. Example: #2pp, 2PP
+     * @return Encoded tag or null if the tag is malformed. Example: %232PP
+     */
+    public static String encode(String tag) {
+        return convert(tag, "%23");
+    }
+
+    /**
+     * This method returns whether the given tag is well formed.
+     *
+     * @param tag Tag with or without the '#' prefix.
+     * @return true if the tag can be normalized, false otherwise.
+     */
+    public static boolean isValid(String tag) {
+        return normalize(tag) != null;
+    }
+
+    private static String convert(String tag, String prefix) {
+        if (tag == null)
+            return null;
+
+        int start = 0;
+        int end = tag.length();
+        while (start < end && tag.charAt(start) <= ' ')
+            start++;
+        while (end > start && tag.charAt(end - 1) <= ' ')
+            end--;
+
+        if (start < end && tag.charAt(start) == '#')
+            start++;
+        else if (tag.startsWith("%23", start))
+            start += 3;
+
+        int length = end - start;
+        if (length < 1 || length > MAX_LENGTH)
+            return null;
+
+        char[] converted = new char[prefix.length() + length];
+        prefix.getChars(0, prefix.length(), converted, 0);
+        for (int index = 0; index < length; index++) {
+            char character = tag.charAt(start + index);
+            char normalized = character < CHARACTERS.length ? CHARACTERS[character] : 0;
+            if (normalized == 0)
+                return null;
+            converted[prefix.length() + index] = normalized;
+        }
+        return new String(converted);
+    }
+}
@@ -0,0 +1,36 @@
+package de.ra.coc;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * This class converts the times of the Clash of Clan server, for example the end time of a war, to milliseconds
+ * since the epoch.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public final class COCTime {
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss.SSS'Z'");
+
+    private COCTime() {
+    }
+
+    /**
+     * This method converts the given time of the Clash of Clan server to milliseconds since the epoch.
+     *
+     * @param time Time of the Clash of Clan server. Example: 20200101T120000.000Z
+     * @return Milliseconds since the epoch or -1 if the time is missing or invalid.
+     */
+    public static long parse(String time) {
+        if (time == null || time.isEmpty())
+            return -1;
+
+        try {
+            return LocalDateTime.parse(time, FORMAT).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
@@ -1,16 +1,17 @@
 package de.ra.coc.Clan;
 
-import de.ra.coc.ServerConnection.HttpConnection;
+import de.ra.coc.COCTag;
+import de.ra.coc.ServerConnection.HttpTransport;
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.coc.ServerConnection.Transport;
 import de.ra.exception.serverConnectionException.COCServerConnectionException;
 import de.ra.exception.tagException.InvalidClanTagException;
 import de.ra.exception.tagException.InvalidItemTagException;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.owasp.html.PolicyFactory;
-import org.owasp.html.Sanitizers;
 
 import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 
 /**
  * This class represents the Clash of Clan's single Clan.
@@ -21,9 +22,10 @@ import java.net.URLEncoder;
  * @author Ranjith Krishnamurthy
  */
 public class Clan {
-    private String JWTOKEN;
+    private Transport TRANSPORT;
     private String CLAN_TAG;
     private JSONObject CLAN_INFORMATION;
+    private ClanRoster CLAN_MEMBERS;
 
 
     /**
@@ -39,7 +41,36 @@ public class Clan {
      * @throws UnsupportedEncodingException If the given player tag is failed to encode to avoid taint-style vulnerabilities.
      */
     public Clan(String JWToken, String ClanTag) throws COCServerConnectionException, UnsupportedEncodingException, InvalidClanTagException {
-        JWTOKEN = JWToken;
+        this(TokenPool.of(JWToken), ClanTag);
+    }
+
+    /**
+     * Initialize newly constructed Clan with the passed pool of JSON Web Tokens and clan's tag and retrieves the
+     * clan's information from the Clash of Clan server. Every request of this clan is sent with a token of the pool,
+     * see {@link de.ra.coc.ServerConnection.TokenPool}.
+     *
+     * @param tokenPool Pool of JSON Web Tokens.
+     * @param ClanTag   Clan's tag.
+     * @throws COCServerConnectionException If the connection to Clash of Clan server is failed.
+     * @throws InvalidClanTagException      If the given clan tag contains invalid character or not found in Clash of Clans server.
+     * @throws UnsupportedEncodingException If the given player tag is failed to encode to avoid taint-style vulnerabilities.
+     */
+    public Clan(TokenPool tokenPool, String ClanTag) throws COCServerConnectionException, UnsupportedEncodingException, InvalidClanTagException {
+        this(new HttpTransport(tokenPool), ClanTag);
+    }
+
+    /**
+     * Initialize newly constructed Clan with the passed transport and clan's tag and retrieves the clan's information
+     * with the transport, see {@link de.ra.coc.ServerConnection.Transport}.
+     *
+     * @param transport Transport that sends the requests.
+     * @param ClanTag   Clan's tag.
+     * @throws COCServerConnectionException If the connection to the server is failed.
+     * @throws InvalidClanTagException      If the given clan tag contains invalid character or not found in Clash of Clans server.
+     * @throws UnsupportedEncodingException If the given player tag is failed to encode to avoid taint-style vulnerabilities.
+     */
+    public Clan(Transport transport, String ClanTag) throws COCServerConnectionException, UnsupportedEncodingException, InvalidClanTagException {
+        TRANSPORT = transport;
         CLAN_TAG = ClanTag;
         changeClanTag(CLAN_TAG);
     }
@@ -54,27 +85,66 @@ public class Clan {
      * @throws UnsupportedEncodingException If the given player tag is failed to encode to avoid taint-style vulnerabilities.
      */
     public void changeClanTag(String CLAN_TAG) throws COCServerConnectionException, UnsupportedEncodingException, InvalidClanTagException {
-        PolicyFactory myPF = Sanitizers.BLOCKS
-                .and(Sanitizers.FORMATTING)
-                .and(Sanitizers.IMAGES)
-                .and(Sanitizers.LINKS)
-                .and(Sanitizers.STYLES)
-                .and(Sanitizers.TABLES);
-
-        CLAN_TAG = myPF.sanitize(CLAN_TAG);
-        CLAN_TAG = URLEncoder.encode(CLAN_TAG, "UTF-8");
+        String encodedTag = COCTag.encode(CLAN_TAG);
+        if (encodedTag == null)
+            throw new InvalidClanTagException(CLAN_TAG);
+        CLAN_TAG = encodedTag;
 
         try {
-            CLAN_INFORMATION = HttpConnection.connectAndGetResults(
-                    HttpConnection.API_LINK + HttpConnection.API_VERSION + "/clans/" + CLAN_TAG,
-                    CLAN_TAG,
-                    JWTOKEN
+            CLAN_INFORMATION = TRANSPORT.get(
+                    TRANSPORT.getBaseLink() + "/clans/" + CLAN_TAG,
+                    CLAN_TAG
             );
+            CLAN_MEMBERS = null;
         } catch (InvalidItemTagException e) {
             throw new InvalidClanTagException(CLAN_TAG);
         }
     }
 
+    /**
+     * This method returns the members of the clan contained in the clan's information. No request is sent to the
+     * Clash of Clan server.
+     *
+     * @return Members of the clan or null if the clan's information does not contain the member list. In this case
+     * use {@link #getClanMembers()}.
+     */
+    public ClanRoster getClanMemberList() {
+        JSONArray memberList = CLAN_INFORMATION.optJSONArray("memberList");
+        return memberList == null ? null : ClanRoster.fromJSON(memberList);
+    }
+
+    /**
+     * This method returns the members of the clan. The members are retrieved from the members endpoint of the
+     * Clash of Clan server at the first call and kept until the clan's tag is changed.
+     *
+     * @return Members of the clan.
+     * @throws COCServerConnectionException If the connection to Clash of Clan server is failed.
+     * @throws InvalidClanTagException      If the clan is not found in Clash of Clans server.
+     * @throws UnsupportedEncodingException If the clan tag is failed to encode.
+     */
+    public ClanRoster getClanMembers() throws COCServerConnectionException, InvalidClanTagException, UnsupportedEncodingException {
+        ClanRoster members = CLAN_MEMBERS;
+        if (members == null) {
+            String clanTag = COCTag.encode(CLAN_INFORMATION.optString("tag", CLAN_TAG));
+            if (clanTag == null)
+                throw new InvalidClanTagException(CLAN_TAG);
+            try {
+                members = ClanRoster.fromJSON(TRANSPORT.get(
+                        TRANSPORT.getBaseLink() + "/clans/" + clanTag + "/members",
+                        clanTag
+                ));
+            } catch (InvalidItemTagException e) {
+                throw new InvalidClanTagException(clanTag);
+            }
+            CLAN_MEMBERS = members;
+        }
+        return members;
+    }
+
+    Transport getTransport() {
+        return TRANSPORT;
+    }
+
     /**
      * This method returns the clan's war frequency.
      *
@@ -0,0 +1,300 @@
+package de.ra.coc.Clan;
+
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This class crawls all the clans of several clan searches, called shards. The shards are walked concurrently, each
+ * one by following its after cursors, and every clan is passed to the consumer only once, even if it is found by
+ * more than one shard. After every page, the after cursor of the shard is stored in the checkpoint file. If the
+ * crawl stops, then the next crawl with the same checkpoint file continues every shard at its stored cursor, and
+ * the finished shards are skipped.
+ * <p>
+ * The clans are removed from duplicates only within a single crawl. The clans of a page that was not stored in the
+ * checkpoint file before the crawl stopped are passed to the consumer again by the next crawl.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class ClanDirectoryCrawler {
+    private static final String AFTER = "after:";
+    private static final String DONE = "done";
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private final File checkpointFile;
+    private final int parallelism;
+    private final List<ClanSearch> shards = new ArrayList<>();
+    private final Properties checkpoint = new Properties();
+
+    /**
+     * Constructs the ClanDirectoryCrawler.
+     *
+     * @param checkpointFile File that stores the cursors of the shards. null means that the crawl is not stored.
+     * @param parallelism    Maximum number of shards walked at the same time.
+     * @throws IllegalArgumentException If the parallelism is less than 1.
+     */
+    public ClanDirectoryCrawler(File checkpointFile, int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+
+        this.checkpointFile = checkpointFile;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * This method adds a shard with the search criteria of the given ClanSearchFactory.
+     *
+     * @param shard ClanSearchFactory with the search criteria of the shard.
+     * @return returns the ClanDirectoryCrawler.
+     * @throws UnsupportedEncodingException If the given search criteria is failed to encode for the URL.
+     */
+    public ClanDirectoryCrawler addShard(ClanSearchFactory shard) throws UnsupportedEncodingException {
+        return addShard(shard.build());
+    }
+
+    ClanDirectoryCrawler addShard(ClanSearch shard) {
+        shards.add(shard);
+        return this;
+    }
+
+    /**
+     * This method adds a shard for every given location.
+     *
+     * @param criteria    Supplies a new ClanSearchFactory with the search criteria common to all the shards.
+     * @param locationIDs Location IDs of the shards.
+     * @return returns the ClanDirectoryCrawler.
+     * @throws UnsupportedEncodingException If the given search criteria is failed to encode for the URL.
+     */
+    public ClanDirectoryCrawler addLocationShards(Supplier<ClanSearchFactory> criteria, int... locationIDs) throws UnsupportedEncodingException {
+        for (int locationID : locationIDs)
+            addShard(criteria.get().setLocationIDCriteria(locationID));
+        return this;
+    }
+
+    /**
+     * This method adds a shard for every band of the number of clan members. The bands are separated by the given
+     * boundaries, for example the boundaries 2, 10, 30 add the bands 2 to 9, 10 to 29 and 30 or more members.
+     *
+     * @param criteria   Supplies a new ClanSearchFactory with the search criteria common to all the shards.
+     * @param boundaries Minimum number of members of every band in ascending order.
+     * @return returns the ClanDirectoryCrawler.
+     * @throws UnsupportedEncodingException If the given search criteria is failed to encode for the URL.
+     */
+    public ClanDirectoryCrawler addMemberShards(Supplier<ClanSearchFactory> criteria, int... boundaries) throws UnsupportedEncodingException {
+        for (int index = 0; index < boundaries.length; index++) {
+            ClanSearchFactory shard = criteria.get().setMinMembersCriteria(boundaries[index]);
+            if (index + 1 < boundaries.length)
+                shard.setMaxMembersCriteria(boundaries[index + 1] - 1);
+            addShard(shard);
+        }
+        return this;
+    }
+
+    /**
+     * This method crawls all the shards and passes every clan to the given consumer. The consumer is called by
+     * several threads at the same time, so it must be thread-safe. If a shard fails, then the other shards stop
+     * after their current page and the first failure is thrown once all the shards are stopped, the cursors of all
+     * the shards are kept in the checkpoint file.
+     *
+     * @param consumer Consumer of the clans in JSONObject format.
+     * @return Number of clans passed to the consumer.
+     * @throws COCServerConnectionException If the connection to the clash of clan server is failed.
+     * @throws IOException                  If the checkpoint file can not be read or written.
+     * @throws InterruptedException         If the current thread is interrupted while waiting for the shards.
+     */
+    public long crawl(Consumer<JSONObject> consumer) throws COCServerConnectionException, IOException, InterruptedException {
+        loadCheckpoint();
+
+        Set<String> crawledTags = ConcurrentHashMap.newKeySet();
+        AtomicLong crawledClans = new AtomicLong();
+        AtomicBoolean stopped = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, shards.size())), runnable -> {
+            Thread thread = new Thread(runnable, "clanJW-crawler-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Future<Void>> walks = new ArrayList<>();
+        try {
+            for (ClanSearch shard : shards) {
+                walks.add(executor.submit(() -> {
+                    walk(shard, consumer, crawledTags, crawledClans, stopped);
+                    return null;
+                }));
+            }
+
+            Throwable failure = null;
+            for (Future<Void> walk : walks) {
+                try {
+                    walk.get();
+                } catch (CancellationException e) {
+                    // cancelled after the failure of another shard
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                        stopped.set(true);
+                        for (Future<Void> other : walks)
+                            other.cancel(true);
+                    }
+                }
+            }
+
+            if (failure != null) {
+                // A cancelled walk may still finish its current page and store its cursor.
+                executor.shutdownNow();
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+
+            if (failure instanceof COCServerConnectionException)
+                throw (COCServerConnectionException) failure;
+            if (failure instanceof IOException)
+                throw (IOException) failure;
+            if (failure instanceof RuntimeException)
+                throw (RuntimeException) failure;
+            if (failure instanceof Error)
+                throw (Error) failure;
+        } finally {
+            executor.shutdownNow();
+        }
+        return crawledClans.get();
+    }
+
+    private void walk(ClanSearch shard, Consumer<JSONObject> consumer, Set<String> crawledTags, AtomicLong crawledClans,
+                      AtomicBoolean stopped) throws COCServerConnectionException, IOException {
+        String key = shard.getCriteriaLink();
+        String state = getState(key);
+        if (DONE.equals(state))
+            return;
+
+        String link = state != null && state.startsWith(AFTER) ? shard.getPageLink(state.substring(AFTER.length())) : shard.getLink();
+        while (link != null && !stopped.get() && !Thread.currentThread().isInterrupted()) {
+            JSONObject page = shard.fetchPage(link);
+            JSONArray items = page == null ? null : page.optJSONArray("items");
+            if (items != null) {
+                for (int index = 0; index < items.length(); index++) {
+                    JSONObject clan = items.optJSONObject(index);
+                    if (clan != null && crawledTags.add(clan.optString("tag"))) {
+                        consumer.accept(clan);
+                        crawledClans.incrementAndGet();
+                    }
+                }
+            }
+
+            String after = ClanSearch.getAfterCursor(page);
+            if (after.isEmpty() || items == null || items.length() == 0) {
+                link = null;
+                saveState(key, DONE);
+            } else {
+                link = shard.getPageLink(after);
+                saveState(key, AFTER + after);
+            }
+        }
+    }
+
+    private String getState(String key) {
+        synchronized (checkpoint) {
+            return checkpoint.getProperty(key);
+        }
+    }
+
+    private void loadCheckpoint() throws IOException {
+        synchronized (checkpoint) {
+            checkpoint.clear();
+            if (checkpointFile == null || !checkpointFile.exists())
+                return;
+
+            try (InputStream input = new FileInputStream(checkpointFile)) {
+                checkpoint.load(input);
+            }
+        }
+    }
+
+    private void saveState(String key, String state) throws IOException {
+        synchronized (checkpoint) {
+            checkpoint.setProperty(key, state);
+            if (checkpointFile == null)
+                return;
+
+            File directory = checkpointFile.getAbsoluteFile().getParentFile();
+            File temporary = File.createTempFile(checkpointFile.getName(), ".tmp", directory);
+            try {
+                try (OutputStream output = new FileOutputStream(temporary)) {
+                    checkpoint.store(output, "clanJW clan directory crawl");
+                }
+
+                try {
+                    Files.move(temporary.toPath(), checkpointFile.toPath(),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporary.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporary.toPath());
+            }
+        }
+    }
+
+    /**
+     * This method checks whether all the shards are crawled completely according to the checkpoint file.
+     *
+     * @return true if all the shards are crawled, false otherwise.
+     * @throws IOException If the checkpoint file can not be read.
+     */
+    public boolean isFinished() throws IOException {
+        loadCheckpoint();
+        for (ClanSearch shard : shards) {
+            if (!DONE.equals(getState(shard.getCriteriaLink())))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method deletes the checkpoint file, so the next crawl starts all the shards from the beginning.
+     *
+     * @throws IOException If the checkpoint file can not be deleted.
+     */
+    public void resetCheckpoint() throws IOException {
+        synchronized (checkpoint) {
+            checkpoint.clear();
+            if (checkpointFile != null)
+                Files.deleteIfExists(checkpointFile.toPath());
+        }
+    }
+
+    /**
+     * This method returns the number of shards.
+     *
+     * @return Number of shards.
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+}
@@ -0,0 +1,251 @@
+package de.ra.coc.Clan;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the members of a clan. The members are stored column by column in primitive arrays instead
+ * of one JSONObject per member, so a roster needs only a small part of the memory of the server response. Every
+ * member is addressed by its index, which is ordered as returned by the Clash of Clan server.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public final class ClanRoster {
+    private static final String[] ROLES = {"member", "admin", "coLeader", "leader"};
+
+    private final int size;
+    private final String[] tags;
+    private final String[] names;
+    private final byte[] roles;
+    private final int[] experienceLevels;
+    private final int[] trophies;
+    private final int[] versusTrophies;
+    private final int[] clanRanks;
+    private final int[] previousClanRanks;
+    private final int[] donations;
+    private final int[] donationsReceived;
+
+    private ClanRoster(JSONArray members) {
+        int capacity = members == null ? 0 : members.length();
+        tags = new String[capacity];
+        names = new String[capacity];
+        roles = new byte[capacity];
+        experienceLevels = new int[capacity];
+        trophies = new int[capacity];
+        versusTrophies = new int[capacity];
+        clanRanks = new int[capacity];
+        previousClanRanks = new int[capacity];
+        donations = new int[capacity];
+        donationsReceived = new int[capacity];
+
+        int index = 0;
+        for (int position = 0; position < capacity; position++) {
+            JSONObject member = members.optJSONObject(position);
+            if (member == null)
+                continue;
+
+            tags[index] = member.optString("tag", "NotApplicable");
+            names[index] = member.optString("name", "NotGiven");
+            roles[index] = roleCode(member.optString("role", null));
+            experienceLevels[index] = member.optInt("expLevel", -1);
+            trophies[index] = member.optInt("trophies", 0);
+            versusTrophies[index] = member.optInt("versusTrophies", 0);
+            clanRanks[index] = member.optInt("clanRank", -1);
+            previousClanRanks[index] = member.optInt("previousClanRank", -1);
+            donations[index] = member.optInt("donations", 0);
+            donationsReceived[index] = member.optInt("donationsReceived", 0);
+            index++;
+        }
+        size = index;
+    }
+
+    /**
+     * This method decodes the roster from the response of the members endpoint of the Clash of Clan server.
+     *
+     * @param response Response of the members endpoint in JSONObject format.
+     * @return Roster of the clan.
+     */
+    public static ClanRoster fromJSON(JSONObject response) {
+        return new ClanRoster(response == null ? null : response.optJSONArray("items"));
+    }
+
+    /**
+     * This method decodes the roster from the list of members, for example the member list of a clan.
+     *
+     * @param members Members in JSONArray format.
+     * @return Roster of the clan.
+     */
+    public static ClanRoster fromJSON(JSONArray members) {
+        return new ClanRoster(members);
+    }
+
+    private static byte roleCode(String role) {
+        for (byte code = 0; code < ROLES.length; code++) {
+            if (ROLES[code].equals(role))
+                return code;
+        }
+        return -1;
+    }
+
+    /**
+     * This method returns the number of members.
+     *
+     * @return Number of members.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method returns the index of the member with the given tag.
+     *
+     * @param tag Player's tag.
+     * @return Index of the member or -1 if the player is not a member of the clan.
+     */
+    public int indexOf(String tag) {
+        for (int index = 0; index < size; index++) {
+            if (tags[index].equals(tag))
+                return index;
+        }
+        return -1;
+    }
+
+    /**
+     * This method returns the tags of all the members.
+     *
+     * @return Tags of the members.
+     */
+    public String[] getTags() {
+        return Arrays.copyOf(tags, size);
+    }
+
+    /**
+     * This method returns the tag of the member.
+     *
+     * @param index Index of the member.
+     * @return Player's tag.
+     */
+    public String getTag(int index) {
+        checkIndex(index);
+        return tags[index];
+    }
+
+    /**
+     * This method returns the name of the member.
+     *
+     * @param index Index of the member.
+     * @return Player's name.
+     */
+    public String getName(int index) {
+        checkIndex(index);
+        return names[index];
+    }
+
+    /**
+     * This method returns the role of the member.
+     *
+     * @param index Index of the member.
+     * @return Role of the member. Example: member, admin, coLeader, leader. If the role is unknown, then this method
+     * returns "NotApplicable".
+     */
+    public String getRole(int index) {
+        checkIndex(index);
+        return roles[index] < 0 ? "NotApplicable" : ROLES[roles[index]];
+    }
+
+    /**
+     * This method returns the experience level of the member.
+     *
+     * @param index Index of the member.
+     * @return Experience level of the member.
+     */
+    public int getExperienceLevel(int index) {
+        checkIndex(index);
+        return experienceLevels[index];
+    }
+
+    /**
+     * This method returns the current trophies of the member in home village.
+     *
+     * @param index Index of the member.
+     * @return Current trophies in home village.
+     */
+    public int getTrophies(int index) {
+        checkIndex(index);
+        return trophies[index];
+    }
+
+    /**
+     * This method returns the current trophies of the member in builder base.
+     *
+     * @param index Index of the member.
+     * @return Current trophies in builder base.
+     */
+    public int getVersusTrophies(int index) {
+        checkIndex(index);
+        return versusTrophies[index];
+    }
+
+    /**
+     * This method returns the rank of the member in the clan.
+     *
+     * @param index Index of the member.
+     * @return Rank of the member in the clan.
+     */
+    public int getClanRank(int index) {
+        checkIndex(index);
+        return clanRanks[index];
+    }
+
+    /**
+     * This method returns the previous rank of the member in the clan.
+     *
+     * @param index Index of the member.
+     * @return Previous rank of the member in the clan.
+     */
+    public int getPreviousClanRank(int index) {
+        checkIndex(index);
+        return previousClanRanks[index];
+    }
+
+    /**
+     * This method returns the number of troops donated by the member.
+     *
+     * @param index Index of the member.
+     * @return Number of troops donated.
+     */
+    public int getDonations(int index) {
+        checkIndex(index);
+        return donations[index];
+    }
+
+    /**
+     * This method returns the number of troops received by the member.
+     *
+     * @param index Index of the member.
+     * @return Number of troops received.
+     */
+    public int getDonationsReceived(int index) {
+        checkIndex(index);
+        return donationsReceived[index];
+    }
+
+    /**
+     * This method returns the total number of troops donated by all the members.
+     *
+     * @return Total number of troops donated.
+     */
+    public long getTotalDonations() {
+        long total = 0;
+        for (int index = 0; index < size; index++)
+            total += donations[index];
+        return total;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+}
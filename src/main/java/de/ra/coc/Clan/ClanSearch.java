@@ -1,6 +1,8 @@
 package de.ra.coc.Clan;
 
-import de.ra.coc.ServerConnection.HttpConnection;
+import de.ra.coc.ServerConnection.HttpTransport;
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.coc.ServerConnection.Transport;
 import de.ra.exception.jsonException.InvalidJsonObject;
 import de.ra.exception.serverConnectionException.COCServerConnectionException;
 import de.ra.exception.tagException.InvalidItemTagException;
@@ -10,6 +12,10 @@ import org.json.JSONObject;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * ClanSearch class is used to search for clans with different filters.
@@ -29,8 +35,9 @@ public class ClanSearch {
     protected Integer resultLimit = 20;
 
     private JSONObject searchResult = null;
-    private String JWTOKEN;
-    private String completeLink = HttpConnection.API_LINK + HttpConnection.API_VERSION + "/clans?";
+    private final Transport TRANSPORT;
+    private String completeLink;
+    private String criteriaLink;
 
     /**
      * Constructs the ClanSearch with the Json Web Token.
@@ -40,11 +47,33 @@ public class ClanSearch {
      * @param JWToken Json Web Token
      */
     public ClanSearch(String JWToken) {
-        JWTOKEN = JWToken;
+        this(TokenPool.of(JWToken));
+    }
+
+    /**
+     * Constructs the ClanSearch with the pool of Json Web Tokens. Every search is sent with a token of the pool,
+     * see {@link de.ra.coc.ServerConnection.TokenPool}.
+     *
+     * @param tokenPool Pool of Json Web Tokens.
+     */
+    public ClanSearch(TokenPool tokenPool) {
+        this(new HttpTransport(tokenPool));
+    }
+
+    /**
+     * Constructs the ClanSearch with the given transport. Every search is sent with the transport,
+     * see {@link de.ra.coc.ServerConnection.Transport}.
+     *
+     * @param transport Transport that sends the requests.
+     */
+    public ClanSearch(Transport transport) {
+        TRANSPORT = transport;
+        completeLink = transport.getBaseLink() + "/clans?";
+        criteriaLink = completeLink;
     }
 
     protected ClanSearch buildClanSearch() throws UnsupportedEncodingException {
-        completeLink = HttpConnection.API_LINK + HttpConnection.API_VERSION + "/clans?";
+        completeLink = TRANSPORT.getBaseLink() + "/clans?";
 
         String param = "";
         if (clanNameCriteria != null && !clanNameCriteria.isEmpty())
@@ -71,6 +100,8 @@ public class ClanSearch {
         if (resultLimit != -1)
             param += "limit=" + resultLimit + "&";
 
+        criteriaLink = completeLink + param;
+
         if (afterCursor != null && beforeCursor == null) {
             if (afterCursor != "")
                 param += "after=" + afterCursor + "&";
@@ -99,16 +130,83 @@ public class ClanSearch {
     public void search() throws COCServerConnectionException {
 
         try {
-            searchResult = HttpConnection.connectAndGetResults(
+            searchResult = TRANSPORT.get(
                     completeLink,
-                    null,
-                    JWTOKEN
+                    null
             );
         } catch (InvalidItemTagException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * This method returns a lazy iterator over the clans of all the pages of this search, starting at the page
+     * of the cursor set by ClanSearchFactory. The pages are requested one after the other by following the after
+     * cursor, and the next page is requested in the background while the caller processes the current page.
+     * If a page fails to load, then the iterator throws
+     * {@link de.ra.exception.serverConnectionException.UncheckedCOCServerConnectionException}. A caller that stops
+     * before the end of the search should close the iterator, so the request of the next page is cancelled.
+     *
+     * @param maxItems Maximum number of clans returned by the iterator.
+     * @return Closeable iterator over the clans in JSONObject format.
+     */
+    public ClanSearchIterator iterator(long maxItems) {
+        return new ClanSearchIterator(this, completeLink, maxItems);
+    }
+
+    /**
+     * This method returns a lazy sequential stream over the clans of all the pages of this search, see
+     * {@link #iterator(long)}. Closing the stream cancels the request of the next page.
+     *
+     * @param maxItems Maximum number of clans returned by the stream.
+     * @return Stream of the clans in JSONObject format.
+     */
+    public Stream<JSONObject> stream(long maxItems) {
+        ClanSearchIterator iterator = new ClanSearchIterator(this, completeLink, maxItems);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(iterator::close);
+    }
+
+    /**
+     * This method returns a lazy sequential stream over the clans of all the pages of this search, see
+     * {@link #iterator(long)}. Closing the stream cancels the request of the next page.
+     *
+     * @return Stream of the clans in JSONObject format.
+     */
+    public Stream<JSONObject> stream() {
+        return stream(Long.MAX_VALUE);
+    }
+
+    String getLink() {
+        return completeLink;
+    }
+
+    String getCriteriaLink() {
+        return criteriaLink;
+    }
+
+    JSONObject fetchPage(String link) throws COCServerConnectionException {
+        try {
+            return TRANSPORT.get(link, null);
+        } catch (InvalidItemTagException e) {
+            return null;
+        }
+    }
+
+    String getPageLink(String afterCursor) {
+        try {
+            return criteriaLink + "after=" + URLEncoder.encode(afterCursor, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String getAfterCursor(JSONObject page) {
+        JSONObject paging = page == null ? null : page.optJSONObject("paging");
+        JSONObject cursors = paging == null ? null : paging.optJSONObject("cursors");
+        return cursors == null ? "" : cursors.optString("after", "");
+    }
+
     /**
      * This method returns the after cursor of the clan search result retrieved from the server.
      *
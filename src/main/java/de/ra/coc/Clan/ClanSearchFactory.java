@@ -1,6 +1,10 @@
 package de.ra.coc.Clan;
 
 
+import de.ra.coc.ServerConnection.HttpTransport;
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.coc.ServerConnection.Transport;
+
 import java.io.UnsupportedEncodingException;
 
 /**
@@ -29,7 +33,7 @@ public class ClanSearchFactory {
     private Integer minClanPointsCriteria = -1;
     private Integer minClanLevelCriteria = -1;
     private Integer resultLimit = 20;
-    private String JWTOKEN;
+    private final Transport TRANSPORT;
 
     /**
      * Constructs the ClanSearchFactory object with the given Json Web Token to connect to the
@@ -40,7 +44,27 @@ public class ClanSearchFactory {
      * @param JWToken Json Wen Token from clash of clan server.
      */
     public ClanSearchFactory(String JWToken) {
-        JWTOKEN = JWToken;
+        this(TokenPool.of(JWToken));
+    }
+
+    /**
+     * Constructs the ClanSearchFactory object with the given pool of Json Web Tokens to connect to the
+     * clash of clan server. See {@link de.ra.coc.ServerConnection.TokenPool}.
+     *
+     * @param tokenPool Pool of Json Web Tokens.
+     */
+    public ClanSearchFactory(TokenPool tokenPool) {
+        this(new HttpTransport(tokenPool));
+    }
+
+    /**
+     * Constructs the ClanSearchFactory object with the given transport that sends the searches,
+     * see {@link de.ra.coc.ServerConnection.Transport}.
+     *
+     * @param transport Transport that sends the requests.
+     */
+    public ClanSearchFactory(Transport transport) {
+        TRANSPORT = transport;
     }
 
     /**
@@ -161,7 +185,7 @@ public class ClanSearchFactory {
      *                                      to encode for the URL.
      */
     public ClanSearch build() throws UnsupportedEncodingException {
-        ClanSearch clanSearch = new ClanSearch(JWTOKEN);
+        ClanSearch clanSearch = new ClanSearch(TRANSPORT);
         clanSearch.clanNameCriteria = clanNameCriteria;
         clanSearch.warFrequencyCriteria = warFrequencyCriteria;
         clanSearch.locationIDCriteria = locationIDCriteria;
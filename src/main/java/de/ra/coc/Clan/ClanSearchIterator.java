@@ -0,0 +1,115 @@
+package de.ra.coc.Clan;
+
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.serverConnectionException.UncheckedCOCServerConnectionException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class iterates over the clans of all the pages of a clan search. As soon as a page is taken, the next page is
+ * requested in the background, so the next page is usually available when the caller finished the current one.
+ * A caller that stops before the end of the search should close the iterator, so the request of the next page is
+ * cancelled. Clans that are missing in a page are skipped.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public final class ClanSearchIterator implements Iterator<JSONObject>, AutoCloseable {
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+    private static final ExecutorService PREFETCH = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "clanJW-search-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ClanSearch clanSearch;
+    private final long maxItems;
+    private Future<JSONObject> nextPage;
+    private JSONArray items = new JSONArray();
+    private int index;
+    private long returned;
+
+    ClanSearchIterator(ClanSearch clanSearch, String firstLink, long maxItems) {
+        this.clanSearch = clanSearch;
+        this.maxItems = maxItems;
+        this.nextPage = maxItems > 0 ? fetch(firstLink) : null;
+    }
+
+    private Future<JSONObject> fetch(String link) {
+        return PREFETCH.submit(() -> clanSearch.fetchPage(link));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (returned >= maxItems) {
+            close();
+            return false;
+        }
+
+        while (true) {
+            while (index < items.length() && items.optJSONObject(index) == null)
+                index++;
+            if (index < items.length())
+                return true;
+
+            if (nextPage == null)
+                return false;
+
+            JSONObject page = take(nextPage);
+            nextPage = null;
+            items = page == null ? null : page.optJSONArray("items");
+            if (items == null)
+                items = new JSONArray();
+            index = 0;
+
+            String after = ClanSearch.getAfterCursor(page);
+            if (!after.isEmpty() && items.length() > 0 && returned + items.length() < maxItems)
+                nextPage = fetch(clanSearch.getPageLink(after));
+        }
+    }
+
+    private static JSONObject take(Future<JSONObject> page) {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedCOCServerConnectionException(new COCServerConnectionException(-1,
+                    e.getClass().getSimpleName(), "Interrupted while waiting for the next page"));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof COCServerConnectionException)
+                throw new UncheckedCOCServerConnectionException((COCServerConnectionException) cause);
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public JSONObject next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        returned++;
+        return items.optJSONObject(index++);
+    }
+
+    /**
+     * This method cancels the request of the next page. The iterator returns no more clans than the ones of the
+     * pages that are already taken.
+     */
+    @Override
+    public void close() {
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package de.ra.coc.Clan;
+
+import de.ra.coc.COCTag;
+import de.ra.coc.COCTime;
+import de.ra.coc.ServerConnection.HttpTransport;
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.coc.ServerConnection.Transport;
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.tagException.InvalidClanTagException;
+import de.ra.exception.tagException.InvalidItemTagException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class polls the current wars of several clans and passes the changes to the registered listeners as events:
+ * a new war, a new attack and the end of a war. Every clan is polled with the interval of the state of its war,
+ * so the clans in the battle day are polled often and the clans in the preparation day or not in war are polled
+ * rarely. The poll is also moved forward to the start of the battle day and to the end of the war.
+ * <p>
+ * The war log of a clan is checked before its current war is polled, because the Clash of Clan server rejects the
+ * request for the current war of a clan with a private war log with the status code 403. A clan with a private war
+ * log is checked again with the interval of the clans not in war.
+ * <p>
+ * A failed poll is reported by {@link de.ra.coc.Clan.WarListener#onPollFailed(String, Exception)} and the clan is
+ * polled again later. A clan that is not found is removed and reported by
+ * {@link de.ra.coc.Clan.WarListener#onClanRemoved(String, Exception)}.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class CurrentWarPoller implements AutoCloseable {
+    /**
+     * Default time in milliseconds between the polls of a clan in the battle day.
+     */
+    public static final long DEFAULT_BATTLE_DAY_INTERVAL = 15000;
+
+    /**
+     * Default time in milliseconds between the polls of a clan in the preparation day.
+     */
+    public static final long DEFAULT_PREPARATION_INTERVAL = 300000;
+
+    /**
+     * Default time in milliseconds between the polls of a clan that is not in war.
+     */
+    public static final long DEFAULT_NOT_IN_WAR_INTERVAL = 900000;
+
+    private static final AtomicInteger POLLER_COUNT = new AtomicInteger();
+
+    private final Transport TRANSPORT;
+    private final ScheduledExecutorService scheduler;
+    private final List<WarListener> listeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<String, ClanWar> clans = new ConcurrentHashMap<>();
+    private volatile long battleDayInterval = DEFAULT_BATTLE_DAY_INTERVAL;
+    private volatile long preparationInterval = DEFAULT_PREPARATION_INTERVAL;
+    private volatile long notInWarInterval = DEFAULT_NOT_IN_WAR_INTERVAL;
+
+    /**
+     * Constructs the CurrentWarPoller with the given JSON Web Token that polls the clans with a single thread.
+     * To get the JSON Web Token see
+     * <a href="https://developer.clashofclans.com/">https://developer.clashofclans.com/</a>
+     *
+     * @param JWToken JSON Web Token.
+     */
+    public CurrentWarPoller(String JWToken) {
+        this(TokenPool.of(JWToken), 1);
+    }
+
+    /**
+     * Constructs the CurrentWarPoller with the given pool of JSON Web Tokens.
+     *
+     * @param tokenPool Pool of JSON Web Tokens.
+     * @param threads   Number of threads that poll the clans.
+     * @throws IllegalArgumentException If the number of threads is less than 1.
+     */
+    public CurrentWarPoller(TokenPool tokenPool, int threads) {
+        this(new HttpTransport(tokenPool), threads);
+    }
+
+    /**
+     * Constructs the CurrentWarPoller that sends the requests with the given transport, see
+     * {@link de.ra.coc.ServerConnection.Transport}.
+     *
+     * @param transport Transport that sends the requests.
+     * @param threads   Number of threads that poll the clans.
+     * @throws IllegalArgumentException If the number of threads is less than 1.
+     */
+    public CurrentWarPoller(Transport transport, int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Number of threads must be at least 1");
+
+        TRANSPORT = transport;
+        int pollerNumber = POLLER_COUNT.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "clanJW-war-poller-" + pollerNumber + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * This method registers the listener for the events of all the polled clans.
+     *
+     * @param listener Listener of the war events.
+     * @return returns the CurrentWarPoller.
+     */
+    public CurrentWarPoller addListener(WarListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * This method removes the given listener.
+     *
+     * @param listener Listener of the war events.
+     */
+    public void removeListener(WarListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * This method starts to poll the current war of the given clan. The first poll is sent immediately. If the clan
+     * is already polled, then this method does nothing.
+     *
+     * @param clanTag Clan's tag.
+     * @return returns the CurrentWarPoller.
+     * @throws RejectedExecutionException If the poller is closed.
+     */
+    public CurrentWarPoller addClan(String clanTag) {
+        ClanWar clan = new ClanWar();
+        if (clans.putIfAbsent(clanTag, clan) == null)
+            schedule(clanTag, clan, 0);
+        return this;
+    }
+
+    /**
+     * This method stops to poll the current war of the given clan.
+     *
+     * @param clanTag Clan's tag.
+     */
+    public void removeClan(String clanTag) {
+        ClanWar clan = clans.remove(clanTag);
+        if (clan != null) {
+            synchronized (clan) {
+                if (clan.nextPoll != null)
+                    clan.nextPoll.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * This method returns the tags of the polled clans.
+     *
+     * @return Unmodifiable set of the clan tags.
+     */
+    public Set<String> getClanTags() {
+        return Collections.unmodifiableSet(clans.keySet());
+    }
+
+    /**
+     * This method returns the state of the current war of the given clan at the last poll.
+     *
+     * @param clanTag Clan's tag.
+     * @return State of the current war. If the current war of the clan is not polled yet, then this method returns
+     * null.
+     */
+    public WarState getWarState(String clanTag) {
+        ClanWar clan = clans.get(clanTag);
+        return clan == null ? null : clan.state;
+    }
+
+    /**
+     * This method sets the time between the polls of the clans with the given state of the war. The interval of
+     * NOT_IN_WAR is used for the ended wars and for the clans with a private war log as well.
+     *
+     * @param state    State of the war. The state WAR_ENDED is the same as NOT_IN_WAR.
+     * @param interval Time between two polls of a clan.
+     * @param unit     Unit of the interval.
+     * @throws IllegalArgumentException If the interval is not positive.
+     */
+    public void setPollInterval(WarState state, long interval, TimeUnit unit) {
+        if (interval <= 0)
+            throw new IllegalArgumentException("Poll interval must be positive");
+
+        switch (state) {
+            case IN_WAR:
+                battleDayInterval = unit.toMillis(interval);
+                break;
+            case PREPARATION:
+                preparationInterval = unit.toMillis(interval);
+                break;
+            default:
+                notInWarInterval = unit.toMillis(interval);
+        }
+    }
+
+    /**
+     * This method returns the time between the polls of the clans with the given state of the war.
+     *
+     * @param state State of the war.
+     * @param unit  Unit of the returned interval.
+     * @return Time between two polls of a clan.
+     */
+    public long getPollInterval(WarState state, TimeUnit unit) {
+        return unit.convert(getPollInterval(state), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method stops to poll all the clans.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        clans.clear();
+    }
+
+    private long getPollInterval(WarState state) {
+        switch (state) {
+            case IN_WAR:
+                return battleDayInterval;
+            case PREPARATION:
+                return preparationInterval;
+            default:
+                return notInWarInterval;
+        }
+    }
+
+    private void schedule(String clanTag, ClanWar clan, long delay) {
+        synchronized (clan) {
+            if (clans.get(clanTag) == clan)
+                clan.nextPoll = scheduler.schedule(() -> poll(clanTag, clan), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void poll(String clanTag, ClanWar clan) {
+        if (clans.get(clanTag) != clan)
+            return;
+
+        long delay;
+        try {
+            delay = pollClan(clanTag, clan);
+        } catch (InvalidItemTagException e) {
+            if (clans.remove(clanTag, clan))
+                fireClanRemoved(clanTag, e);
+            return;
+        } catch (COCServerConnectionException e) {
+            delay = e.getRetryAfter() > 0 ? TimeUnit.SECONDS.toMillis(e.getRetryAfter()) :
+                    getPollInterval(clan.state == null ? WarState.NOT_IN_WAR : clan.state);
+            firePollFailed(clanTag, e);
+        } catch (RuntimeException e) {
+            delay = notInWarInterval;
+            firePollFailed(clanTag, e);
+        }
+
+        try {
+            schedule(clanTag, clan, delay);
+        } catch (RejectedExecutionException e) {
+            clans.remove(clanTag, clan);
+        }
+    }
+
+    private long pollClan(String clanTag, ClanWar clan) throws COCServerConnectionException, InvalidItemTagException {
+        String encodedTag = COCTag.encode(clanTag);
+        if (encodedTag == null)
+            throw new InvalidClanTagException(clanTag);
+
+        String clanLink = TRANSPORT.getBaseLink() + "/clans/" + encodedTag;
+
+        if (!clan.warLogPublic) {
+            JSONObject clanInformation = TRANSPORT.get(clanLink, encodedTag);
+            clan.warLogPublic = clanInformation.optBoolean("isWarLogPublic", false);
+            if (!clan.warLogPublic)
+                return notInWarInterval;
+        }
+
+        JSONObject war;
+        try {
+            war = TRANSPORT.get(clanLink + "/currentwar", encodedTag);
+        } catch (COCServerConnectionException e) {
+            if (e.getStatusCode() != 403)
+                throw e;
+
+            clan.warLogPublic = false;
+            return notInWarInterval;
+        }
+        return update(clanTag, clan, war, System.currentTimeMillis());
+    }
+
+    long update(String clanTag, ClanWar clan, JSONObject war, long now) {
+        WarState state = WarState.forKey(war.optString("state", null));
+
+        if (state == WarState.NOT_IN_WAR) {
+            if (clan.warId != null && !clan.ended)
+                fireWarEnded(clanTag, clan.lastWar);
+            clan.warId = null;
+            clan.lastOrder = 0;
+            clan.ended = false;
+        } else {
+            String warId = war.optString("preparationStartTime", "");
+            if (!warId.equals(clan.warId)) {
+                if (clan.warId != null && !clan.ended)
+                    fireWarEnded(clanTag, clan.lastWar);
+
+                clan.lastOrder = 0;
+                clan.ended = state == WarState.WAR_ENDED && clan.state == null;
+                if (clan.ended)
+                    clan.lastOrder = Integer.MAX_VALUE;
+                else
+                    fireWarStarted(clanTag, war);
+                clan.warId = warId;
+            }
+
+            if (!clan.ended) {
+                for (WarAttack attack : getNewAttacks(war, clan.lastOrder)) {
+                    clan.lastOrder = attack.getOrder();
+                    fireAttack(clanTag, war, attack);
+                }
+
+                if (state == WarState.WAR_ENDED) {
+                    clan.ended = true;
+                    fireWarEnded(clanTag, war);
+                }
+            }
+        }
+
+        clan.lastWar = war;
+        clan.state = state;
+        return getDelay(state, war, now);
+    }
+
+    private long getDelay(WarState state, JSONObject war, long now) {
+        long delay = getPollInterval(state);
+        long next = -1;
+        if (state == WarState.PREPARATION)
+            next = COCTime.parse(war.optString("startTime", null));
+        else if (state == WarState.IN_WAR)
+            next = COCTime.parse(war.optString("endTime", null));
+
+        return next > now ? Math.min(delay, next - now) : delay;
+    }
+
+    private static List<WarAttack> getNewAttacks(JSONObject war, int lastOrder) {
+        List<WarAttack> attacks = new ArrayList<>();
+        addNewAttacks(attacks, war.optJSONObject("clan"), true, lastOrder);
+        addNewAttacks(attacks, war.optJSONObject("opponent"), false, lastOrder);
+        attacks.sort(Comparator.comparingInt(WarAttack::getOrder));
+        return attacks;
+    }
+
+    private static void addNewAttacks(List<WarAttack> attacks, JSONObject side, boolean clanAttack, int lastOrder) {
+        JSONArray members = side == null ? null : side.optJSONArray("members");
+        if (members == null)
+            return;
+
+        for (int memberIndex = 0; memberIndex < members.length(); memberIndex++) {
+            JSONObject member = members.optJSONObject(memberIndex);
+            JSONArray memberAttacks = member == null ? null : member.optJSONArray("attacks");
+            if (memberAttacks == null)
+                continue;
+
+            for (int attackIndex = 0; attackIndex < memberAttacks.length(); attackIndex++) {
+                JSONObject attack = memberAttacks.optJSONObject(attackIndex);
+                if (attack != null && attack.optInt("order", 0) > lastOrder)
+                    attacks.add(new WarAttack(attack, clanAttack));
+            }
+        }
+    }
+
+    private void fireWarStarted(String clanTag, JSONObject war) {
+        for (WarListener listener : listeners) {
+            try {
+                listener.onWarStarted(clanTag, war);
+            } catch (RuntimeException ignored) {
+                // A failing listener must not stop the poll or the other listeners.
+            }
+        }
+    }
+
+    private void fireAttack(String clanTag, JSONObject war, WarAttack attack) {
+        for (WarListener listener : listeners) {
+            try {
+                listener.onAttack(clanTag, war, attack);
+            } catch (RuntimeException ignored) {
+                // A failing listener must not stop the poll or the other listeners.
+            }
+        }
+    }
+
+    private void fireWarEnded(String clanTag, JSONObject war) {
+        for (WarListener listener : listeners) {
+            try {
+                listener.onWarEnded(clanTag, war);
+            } catch (RuntimeException ignored) {
+                // A failing listener must not stop the poll or the other listeners.
+            }
+        }
+    }
+
+    private void firePollFailed(String clanTag, Exception exception) {
+        for (WarListener listener : listeners) {
+            try {
+                listener.onPollFailed(clanTag, exception);
+            } catch (RuntimeException ignored) {
+                // A failing listener must not stop the poll or the other listeners.
+            }
+        }
+    }
+
+    private void fireClanRemoved(String clanTag, Exception exception) {
+        for (WarListener listener : listeners) {
+            try {
+                listener.onClanRemoved(clanTag, exception);
+            } catch (RuntimeException ignored) {
+                // A failing listener must not stop the poll or the other listeners.
+            }
+        }
+    }
+
+    static final class ClanWar {
+        private volatile WarState state;
+        private boolean warLogPublic;
+        private String warId;
+        private int lastOrder;
+        private boolean ended;
+        private JSONObject lastWar;
+        private ScheduledFuture<?> nextPoll;
+    }
+}
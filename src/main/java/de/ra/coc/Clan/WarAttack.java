@@ -0,0 +1,91 @@
+package de.ra.coc.Clan;
+
+import org.json.JSONObject;
+
+/**
+ * This class represents a single attack of the current war of a clan.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public final class WarAttack {
+    private final String attackerTag;
+    private final String defenderTag;
+    private final int stars;
+    private final float destructionPercentage;
+    private final int order;
+    private final int duration;
+    private final boolean clanAttack;
+
+    WarAttack(JSONObject attack, boolean clanAttack) {
+        attackerTag = attack.optString("attackerTag", "NotApplicable");
+        defenderTag = attack.optString("defenderTag", "NotApplicable");
+        stars = attack.optInt("stars", 0);
+        destructionPercentage = (float) attack.optDouble("destructionPercentage", 0);
+        order = attack.optInt("order", 0);
+        duration = attack.optInt("duration", 0);
+        this.clanAttack = clanAttack;
+    }
+
+    /**
+     * This method returns the tag of the attacking player.
+     *
+     * @return Attacker's tag.
+     */
+    public String getAttackerTag() {
+        return attackerTag;
+    }
+
+    /**
+     * This method returns the tag of the attacked player.
+     *
+     * @return Defender's tag.
+     */
+    public String getDefenderTag() {
+        return defenderTag;
+    }
+
+    /**
+     * This method returns the stars earned by the attack.
+     *
+     * @return Stars earned by the attack.
+     */
+    public int getStars() {
+        return stars;
+    }
+
+    /**
+     * This method returns the destruction percentage of the attack.
+     *
+     * @return Destruction percentage of the attack.
+     */
+    public float getDestructionPercentage() {
+        return destructionPercentage;
+    }
+
+    /**
+     * This method returns the position of the attack in the war. The first attack of the war has the order 1.
+     *
+     * @return Order of the attack.
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * This method returns the duration of the attack.
+     *
+     * @return Duration of the attack in seconds.
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+    /**
+     * This method returns whether the attack is made by a member of the polled clan.
+     *
+     * @return true if the attack is made by the polled clan, false if it is made by the opponent.
+     */
+    public boolean isClanAttack() {
+        return clanAttack;
+    }
+}
@@ -0,0 +1,60 @@
+package de.ra.coc.Clan;
+
+import org.json.JSONObject;
+
+/**
+ * This interface receives the events of the current wars polled by {@link de.ra.coc.Clan.CurrentWarPoller}.
+ * The methods are called by the thread of the poller, so they should return quickly.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public interface WarListener {
+    /**
+     * This method is called when a new war of the clan is found, either in the preparation day or in the battle day.
+     *
+     * @param clanTag Clan's tag.
+     * @param war     Current war in JSONObject format.
+     */
+    default void onWarStarted(String clanTag, JSONObject war) {
+    }
+
+    /**
+     * This method is called for every new attack of the current war of the clan, in the order of the attacks.
+     *
+     * @param clanTag Clan's tag.
+     * @param war     Current war in JSONObject format.
+     * @param attack  New attack.
+     */
+    default void onAttack(String clanTag, JSONObject war, WarAttack attack) {
+    }
+
+    /**
+     * This method is called when the current war of the clan is ended.
+     *
+     * @param clanTag Clan's tag.
+     * @param war     Ended war in JSONObject format. If the poller missed the end of the war, then this is the
+     *                last state of the war that was polled.
+     */
+    default void onWarEnded(String clanTag, JSONObject war) {
+    }
+
+    /**
+     * This method is called when a poll of the clan fails, for example because the connection to the Clash of Clan
+     * server failed or the response could not be processed. The clan is polled again later.
+     *
+     * @param clanTag   Clan's tag.
+     * @param exception Failure of the poll.
+     */
+    default void onPollFailed(String clanTag, Exception exception) {
+    }
+
+    /**
+     * This method is called when the poller stops to poll the clan because of a failure, for example because the
+     * clan is not found. The clan is not polled again unless it is added again.
+     *
+     * @param clanTag   Clan's tag.
+     * @param exception Failure that removed the clan.
+     */
+    default void onClanRemoved(String clanTag, Exception exception) {
+    }
+}
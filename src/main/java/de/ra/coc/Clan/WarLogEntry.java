@@ -0,0 +1,152 @@
+package de.ra.coc.Clan;
+
+import de.ra.coc.COCTime;
+import org.json.JSONObject;
+
+/**
+ * This class represents a single war of the war log of a clan. Only the results of the war are kept, the badges
+ * and the other details of the server response are dropped.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public final class WarLogEntry {
+    private final long endTime;
+    private final String result;
+    private final int teamSize;
+    private final int attacksPerMember;
+    private final int stars;
+    private final float destructionPercentage;
+    private final int attacks;
+    private final int experienceEarned;
+    private final String opponentTag;
+    private final String opponentName;
+    private final int opponentStars;
+    private final float opponentDestructionPercentage;
+
+    WarLogEntry(JSONObject war) {
+        JSONObject clan = war.optJSONObject("clan");
+        JSONObject opponent = war.optJSONObject("opponent");
+
+        endTime = COCTime.parse(war.optString("endTime", null));
+        result = war.optString("result", "NotApplicable").intern();
+        teamSize = war.optInt("teamSize", 0);
+        attacksPerMember = war.optInt("attacksPerMember", 0);
+        stars = clan == null ? 0 : clan.optInt("stars", 0);
+        destructionPercentage = clan == null ? 0 : (float) clan.optDouble("destructionPercentage", 0);
+        attacks = clan == null ? 0 : clan.optInt("attacks", 0);
+        experienceEarned = clan == null ? 0 : clan.optInt("expEarned", 0);
+        opponentTag = opponent == null ? "NotApplicable" : opponent.optString("tag", "NotApplicable");
+        opponentName = opponent == null ? "NotApplicable" : opponent.optString("name", "NotApplicable");
+        opponentStars = opponent == null ? 0 : opponent.optInt("stars", 0);
+        opponentDestructionPercentage = opponent == null ? 0 : (float) opponent.optDouble("destructionPercentage", 0);
+    }
+
+    /**
+     * This method returns the end time of the war.
+     *
+     * @return End time in milliseconds since the epoch or -1 if the server did not send it.
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * This method returns the result of the war.
+     *
+     * @return Result of the war. Example: win, lose, tie. For the wars of the clan war league this method returns
+     * "NotApplicable".
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * This method returns the number of players of each clan.
+     *
+     * @return Team size.
+     */
+    public int getTeamSize() {
+        return teamSize;
+    }
+
+    /**
+     * This method returns the number of attacks of every member.
+     *
+     * @return Attacks per member.
+     */
+    public int getAttacksPerMember() {
+        return attacksPerMember;
+    }
+
+    /**
+     * This method returns the stars earned by the clan.
+     *
+     * @return Stars of the clan.
+     */
+    public int getStars() {
+        return stars;
+    }
+
+    /**
+     * This method returns the destruction percentage of the clan.
+     *
+     * @return Destruction percentage of the clan.
+     */
+    public float getDestructionPercentage() {
+        return destructionPercentage;
+    }
+
+    /**
+     * This method returns the number of attacks of the clan.
+     *
+     * @return Number of attacks of the clan.
+     */
+    public int getAttacks() {
+        return attacks;
+    }
+
+    /**
+     * This method returns the clan experience earned by the war.
+     *
+     * @return Clan experience earned.
+     */
+    public int getExperienceEarned() {
+        return experienceEarned;
+    }
+
+    /**
+     * This method returns the tag of the opponent clan.
+     *
+     * @return Tag of the opponent clan.
+     */
+    public String getOpponentTag() {
+        return opponentTag;
+    }
+
+    /**
+     * This method returns the name of the opponent clan.
+     *
+     * @return Name of the opponent clan.
+     */
+    public String getOpponentName() {
+        return opponentName;
+    }
+
+    /**
+     * This method returns the stars earned by the opponent clan.
+     *
+     * @return Stars of the opponent clan.
+     */
+    public int getOpponentStars() {
+        return opponentStars;
+    }
+
+    /**
+     * This method returns the destruction percentage of the opponent clan.
+     *
+     * @return Destruction percentage of the opponent clan.
+     */
+    public float getOpponentDestructionPercentage() {
+        return opponentDestructionPercentage;
+    }
+}
@@ -0,0 +1,157 @@
+package de.ra.coc.Clan;
+
+import de.ra.coc.COCTag;
+import de.ra.coc.ServerConnection.HttpTransport;
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.coc.ServerConnection.Transport;
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.tagException.InvalidClanTagException;
+import de.ra.exception.tagException.InvalidItemTagException;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class retrieves the war logs of clans and returns only the wars that ended after the newest war returned by
+ * the previous sync of the same clan. The end time of the newest war is kept per clan tag in memory, use
+ * {@link #getNewestEndTime(String)} and {@link #setNewestEndTime(String, long)} to keep it across restarts.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class WarLogSync {
+    private final Transport TRANSPORT;
+    private final ConcurrentMap<String, Long> newestEndTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the WarLogSync with the given JSON Web Token.
+     * To get the JSON Web Token see
+     * <a href="https://developer.clashofclans.com/">https://developer.clashofclans.com/</a>
+     *
+     * @param JWToken JSON Web Token.
+     */
+    public WarLogSync(String JWToken) {
+        this(TokenPool.of(JWToken));
+    }
+
+    /**
+     * Constructs the WarLogSync with the given pool of JSON Web Tokens. Every request is sent with a token of the
+     * pool, see {@link de.ra.coc.ServerConnection.TokenPool}.
+     *
+     * @param tokenPool Pool of JSON Web Tokens.
+     */
+    public WarLogSync(TokenPool tokenPool) {
+        this(new HttpTransport(tokenPool));
+    }
+
+    /**
+     * Constructs the WarLogSync with the given transport, see {@link de.ra.coc.ServerConnection.Transport}. The
+     * transport is used by {@link #sync(String)}, {@link #sync(Clan)} uses the transport of the given clan.
+     *
+     * @param transport Transport that sends the requests.
+     */
+    public WarLogSync(Transport transport) {
+        TRANSPORT = transport;
+    }
+
+    /**
+     * This method retrieves the clan with the given tag and then its war log, see {@link #sync(Clan)}.
+     *
+     * @param clanTag Clan's tag.
+     * @return New wars, the newest war first.
+     * @throws COCServerConnectionException If the connection to Clash of Clan server is failed.
+     * @throws InvalidClanTagException      If the clan tag is malformed or the clan is not found in Clash of Clans
+     *                                      server.
+     * @throws UnsupportedEncodingException If the clan tag is failed to encode.
+     * @throws JSONException                If the processing of JSONObject is failed.
+     */
+    public List<WarLogEntry> sync(String clanTag) throws COCServerConnectionException, InvalidClanTagException,
+            UnsupportedEncodingException, JSONException {
+        return sync(new Clan(TRANSPORT, clanTag));
+    }
+
+    /**
+     * This method retrieves the war log of the given clan and returns the wars that ended after the newest war of
+     * the previous sync. If the war log of the clan is not public, then no request is sent and an empty list is
+     * returned. The request is sent with the transport of the given clan.
+     *
+     * @param clan Clan.
+     * @return New wars, the newest war first.
+     * @throws COCServerConnectionException If the connection to Clash of Clan server is failed.
+     * @throws InvalidClanTagException      If the clan is not found in Clash of Clans server.
+     * @throws JSONException                If the processing of JSONObject is failed.
+     */
+    public List<WarLogEntry> sync(Clan clan) throws COCServerConnectionException, InvalidClanTagException, JSONException {
+        if (!clan.isWarLogPublic())
+            return Collections.emptyList();
+
+        String clanTag = clan.getClanTag();
+        String encodedTag = COCTag.encode(clanTag);
+        if (encodedTag == null)
+            throw new InvalidClanTagException(clanTag);
+
+        Transport transport = clan.getTransport();
+        try {
+            return sync(clanTag, transport.get(
+                    transport.getBaseLink() + "/clans/" + encodedTag + "/warlog",
+                    encodedTag
+            ));
+        } catch (InvalidItemTagException e) {
+            throw new InvalidClanTagException(encodedTag);
+        }
+    }
+
+    List<WarLogEntry> sync(String clanTag, JSONObject warLog) {
+        JSONArray items = warLog == null ? null : warLog.optJSONArray("items");
+        if (items == null || items.length() == 0)
+            return Collections.emptyList();
+
+        long newestEndTime = getNewestEndTime(clanTag);
+        List<WarLogEntry> entries = new ArrayList<>();
+        for (int index = 0; index < items.length(); index++) {
+            JSONObject war = items.optJSONObject(index);
+            if (war == null)
+                continue;
+
+            WarLogEntry entry = new WarLogEntry(war);
+            if (entry.getEndTime() <= newestEndTime)
+                break;
+            entries.add(entry);
+        }
+
+        if (!entries.isEmpty())
+            newestEndTimes.merge(clanTag, entries.get(0).getEndTime(), Math::max);
+        return entries;
+    }
+
+    /**
+     * This method returns the end time of the newest war returned for the given clan.
+     *
+     * @param clanTag Clan's tag.
+     * @return End time in milliseconds since the epoch or -1 if the clan is not synced yet.
+     */
+    public long getNewestEndTime(String clanTag) {
+        Long endTime = newestEndTimes.get(clanTag);
+        return endTime == null ? -1 : endTime;
+    }
+
+    /**
+     * This method sets the end time of the newest war known for the given clan, for example from a previous run.
+     * The next sync of the clan returns only the wars that ended after this time.
+     *
+     * @param clanTag Clan's tag.
+     * @param endTime End time in milliseconds since the epoch. -1 means that the next sync returns all the wars.
+     */
+    public void setNewestEndTime(String clanTag, long endTime) {
+        if (endTime < 0)
+            newestEndTimes.remove(clanTag);
+        else
+            newestEndTimes.put(clanTag, endTime);
+    }
+}
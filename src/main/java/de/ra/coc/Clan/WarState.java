@@ -0,0 +1,57 @@
+package de.ra.coc.Clan;
+
+/**
+ * This enum represents the state of the current war of a clan.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public enum WarState {
+    /**
+     * The clan is not in war.
+     */
+    NOT_IN_WAR("notInWar"),
+
+    /**
+     * The war is in the preparation day.
+     */
+    PREPARATION("preparation"),
+
+    /**
+     * The war is in the battle day.
+     */
+    IN_WAR("inWar"),
+
+    /**
+     * The war is ended.
+     */
+    WAR_ENDED("warEnded");
+
+    private final String key;
+
+    WarState(String key) {
+        this.key = key;
+    }
+
+    /**
+     * This method returns the state as it is named by the Clash of Clan server.
+     *
+     * @return State name. Example: notInWar, preparation, inWar, warEnded.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * This method returns the state for the given name of the Clash of Clan server.
+     *
+     * @param key State name.
+     * @return State of the war. If the name is not known, then this method returns NOT_IN_WAR.
+     */
+    public static WarState forKey(String key) {
+        for (WarState state : values()) {
+            if (state.key.equals(key))
+                return state;
+        }
+        return NOT_IN_WAR;
+    }
+}
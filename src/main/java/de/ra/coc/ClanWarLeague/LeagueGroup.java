@@ -0,0 +1,177 @@
+package de.ra.coc.ClanWarLeague;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class represents the clan war league group of a clan together with the wars of all its rounds.
+ * See {@link de.ra.coc.ClanWarLeague.LeagueGroupCrawler} to retrieve the league group.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public final class LeagueGroup {
+    static final String UNSCHEDULED_WAR_TAG = "#0";
+
+    private final JSONObject group;
+    private final List<String> clanTags;
+    private final List<List<String>> rounds;
+    private final Map<String, JSONObject> wars = new ConcurrentHashMap<>();
+
+    LeagueGroup(JSONObject group) {
+        this.group = group;
+
+        List<String> tags = new ArrayList<>();
+        JSONArray clans = group.optJSONArray("clans");
+        for (int index = 0; clans != null && index < clans.length(); index++) {
+            JSONObject clan = clans.optJSONObject(index);
+            if (clan != null && clan.has("tag"))
+                tags.add(clan.optString("tag"));
+        }
+        clanTags = Collections.unmodifiableList(tags);
+
+        List<List<String>> roundTags = new ArrayList<>();
+        JSONArray roundArray = group.optJSONArray("rounds");
+        for (int index = 0; roundArray != null && index < roundArray.length(); index++) {
+            JSONObject round = roundArray.optJSONObject(index);
+            JSONArray warTags = round == null ? null : round.optJSONArray("warTags");
+
+            List<String> scheduled = new ArrayList<>();
+            for (int warIndex = 0; warTags != null && warIndex < warTags.length(); warIndex++) {
+                String warTag = warTags.optString(warIndex, UNSCHEDULED_WAR_TAG);
+                if (!UNSCHEDULED_WAR_TAG.equals(warTag))
+                    scheduled.add(warTag);
+            }
+            roundTags.add(Collections.unmodifiableList(scheduled));
+        }
+        rounds = Collections.unmodifiableList(roundTags);
+    }
+
+    void addWar(String warTag, JSONObject war) {
+        wars.put(warTag, war);
+    }
+
+    /**
+     * This method returns the league group as it is retrieved from the Clash of Clan server.
+     *
+     * @return League group in JSONObject format.
+     */
+    public JSONObject getGroup() {
+        return group;
+    }
+
+    /**
+     * This method returns the state of the league group.
+     *
+     * @return State of the league group. Example: preparation, inWar, ended.
+     */
+    public String getState() {
+        return group.optString("state", "NotApplicable");
+    }
+
+    /**
+     * This method returns the season of the league group.
+     *
+     * @return Season of the league group. Example: 2020-01.
+     */
+    public String getSeason() {
+        return group.optString("season", "NotApplicable");
+    }
+
+    /**
+     * This method returns the tags of the clans in the league group.
+     *
+     * @return Unmodifiable list of the clan tags.
+     */
+    public List<String> getClanTags() {
+        return clanTags;
+    }
+
+    /**
+     * This method returns the number of rounds of the league group, including the rounds that are not
+     * scheduled yet.
+     *
+     * @return Number of rounds.
+     */
+    public int getRoundCount() {
+        return rounds.size();
+    }
+
+    /**
+     * This method returns the tags of the scheduled wars of the given round.
+     *
+     * @param round Index of the round, starting with 0.
+     * @return Unmodifiable list of the war tags. If the round is not scheduled yet, then the list is empty.
+     * @throws IndexOutOfBoundsException If the round does not exist.
+     */
+    public List<String> getWarTags(int round) {
+        return rounds.get(round);
+    }
+
+    /**
+     * This method returns the tags of the scheduled wars of all the rounds. Every war is contained only once.
+     *
+     * @return Unmodifiable set of the war tags in the order of the rounds.
+     */
+    public Set<String> getWarTags() {
+        Set<String> warTags = new LinkedHashSet<>();
+        for (List<String> round : rounds)
+            warTags.addAll(round);
+        return Collections.unmodifiableSet(warTags);
+    }
+
+    /**
+     * This method returns the war with the given tag.
+     *
+     * @param warTag War's tag.
+     * @return War in JSONObject format or null if the war is not in this league group.
+     */
+    public JSONObject getWar(String warTag) {
+        return wars.get(warTag);
+    }
+
+    /**
+     * This method returns the wars of the given round.
+     *
+     * @param round Index of the round, starting with 0.
+     * @return Unmodifiable list of the wars in JSONObject format.
+     * @throws IndexOutOfBoundsException If the round does not exist.
+     */
+    public List<JSONObject> getWars(int round) {
+        List<JSONObject> roundWars = new ArrayList<>();
+        for (String warTag : rounds.get(round)) {
+            JSONObject war = wars.get(warTag);
+            if (war != null)
+                roundWars.add(war);
+        }
+        return Collections.unmodifiableList(roundWars);
+    }
+
+    /**
+     * This method returns the wars of the given clan in the order of the rounds.
+     *
+     * @param clanTag Clan's tag.
+     * @return Unmodifiable list of the wars in JSONObject format.
+     */
+    public List<JSONObject> getWarsOfClan(String clanTag) {
+        List<JSONObject> clanWars = new ArrayList<>();
+        for (String warTag : getWarTags()) {
+            JSONObject war = wars.get(warTag);
+            if (war != null && (clanTag.equals(getSideTag(war, "clan")) || clanTag.equals(getSideTag(war, "opponent"))))
+                clanWars.add(war);
+        }
+        return Collections.unmodifiableList(clanWars);
+    }
+
+    private static String getSideTag(JSONObject war, String side) {
+        JSONObject clan = war.optJSONObject(side);
+        return clan == null ? null : clan.optString("tag", null);
+    }
+}
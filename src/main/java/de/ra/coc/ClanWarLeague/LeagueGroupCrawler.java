@@ -0,0 +1,216 @@
+package de.ra.coc.ClanWarLeague;
+
+import de.ra.coc.COCTag;
+import de.ra.coc.ServerConnection.HttpTransport;
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.coc.ServerConnection.Transport;
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.tagException.InvalidClanTagException;
+import de.ra.exception.tagException.InvalidItemTagException;
+import org.json.JSONObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class retrieves the clan war league group of a clan and the wars of all its rounds. The wars of all the
+ * rounds are retrieved at the same time. A war that is requested again while it is retrieved, for example by the
+ * league groups of two clans of the same group, is retrieved only once. The ended wars never change, so they are
+ * kept by the crawler and are not retrieved again.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class LeagueGroupCrawler implements AutoCloseable {
+    /**
+     * Default number of wars retrieved at the same time. A round has at most four wars.
+     */
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    private static final String WAR_ENDED = "warEnded";
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private final Transport TRANSPORT;
+    private final ExecutorService executor;
+    private final ConcurrentMap<String, JSONObject> endedWars = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<JSONObject>> pendingWars = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the LeagueGroupCrawler with the given JSON Web Token.
+     * To get the JSON Web Token see
+     * <a href="https://developer.clashofclans.com/">https://developer.clashofclans.com/</a>
+     *
+     * @param JWToken JSON Web Token.
+     */
+    public LeagueGroupCrawler(String JWToken) {
+        this(TokenPool.of(JWToken), DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructs the LeagueGroupCrawler with the given pool of JSON Web Tokens.
+     *
+     * @param tokenPool   Pool of JSON Web Tokens.
+     * @param parallelism Maximum number of wars retrieved at the same time.
+     * @throws IllegalArgumentException If the parallelism is less than 1.
+     */
+    public LeagueGroupCrawler(TokenPool tokenPool, int parallelism) {
+        this(new HttpTransport(tokenPool), parallelism);
+    }
+
+    /**
+     * Constructs the LeagueGroupCrawler that sends the requests with the given transport, see
+     * {@link de.ra.coc.ServerConnection.Transport}.
+     *
+     * @param transport   Transport that sends the requests.
+     * @param parallelism Maximum number of wars retrieved at the same time.
+     * @throws IllegalArgumentException If the parallelism is less than 1.
+     */
+    public LeagueGroupCrawler(Transport transport, int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+
+        TRANSPORT = transport;
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "clanJW-league-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * This method retrieves the current clan war league group of the given clan and the wars of all its
+     * scheduled rounds.
+     *
+     * @param clanTag Clan's tag.
+     * @return League group with its wars.
+     * @throws COCServerConnectionException If the connection to Clash of Clan server is failed.
+     * @throws InvalidClanTagException      If the clan tag is malformed, the clan is not found or is not in a clan war
+     *                                      league group.
+     * @throws InvalidItemTagException      If a war of the league group is not found.
+     */
+    public LeagueGroup getLeagueGroup(String clanTag) throws COCServerConnectionException, InvalidItemTagException {
+        String encodedTag = COCTag.encode(clanTag);
+        if (encodedTag == null)
+            throw new InvalidClanTagException(clanTag);
+
+        JSONObject group;
+        try {
+            group = fetch(TRANSPORT.getBaseLink() + "/clans/" + encodedTag +
+                    "/currentwar/leaguegroup", encodedTag);
+        } catch (InvalidItemTagException e) {
+            throw new InvalidClanTagException(encodedTag);
+        }
+
+        LeagueGroup leagueGroup = new LeagueGroup(group);
+        Map<String, CompletableFuture<JSONObject>> wars = new LinkedHashMap<>();
+        for (String warTag : leagueGroup.getWarTags())
+            wars.put(warTag, getWarAsync(warTag));
+
+        for (Map.Entry<String, CompletableFuture<JSONObject>> war : wars.entrySet())
+            leagueGroup.addWar(war.getKey(), await(war.getValue()));
+        return leagueGroup;
+    }
+
+    /**
+     * This method retrieves the clan war league war with the given tag. An ended war is returned without a request
+     * if it is retrieved before by this crawler.
+     *
+     * @param warTag War's tag.
+     * @return War in JSONObject format.
+     * @throws COCServerConnectionException If the connection to Clash of Clan server is failed.
+     * @throws InvalidItemTagException      If the war is not found.
+     */
+    public JSONObject getWar(String warTag) throws COCServerConnectionException, InvalidItemTagException {
+        return await(getWarAsync(warTag));
+    }
+
+    /**
+     * This method returns the number of ended wars kept by this crawler.
+     *
+     * @return Number of ended wars.
+     */
+    public int getEndedWarCount() {
+        return endedWars.size();
+    }
+
+    /**
+     * This method removes all the ended wars kept by this crawler.
+     */
+    public void clearEndedWars() {
+        endedWars.clear();
+    }
+
+    /**
+     * This method shuts down the threads of this crawler. Wars that are already requested are completed.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    JSONObject fetch(String link, String tag) throws COCServerConnectionException, InvalidItemTagException {
+        return TRANSPORT.get(link, tag);
+    }
+
+    private CompletableFuture<JSONObject> getWarAsync(String warTag) {
+        JSONObject ended = endedWars.get(warTag);
+        if (ended != null)
+            return CompletableFuture.completedFuture(ended);
+
+        CompletableFuture<JSONObject> war = new CompletableFuture<>();
+        CompletableFuture<JSONObject> pending = pendingWars.putIfAbsent(warTag, war);
+        if (pending != null)
+            return pending;
+
+        try {
+            executor.execute(() -> {
+                try {
+                    String encodedTag = COCTag.encode(warTag);
+                    if (encodedTag == null)
+                        throw new InvalidItemTagException(warTag);
+                    JSONObject response = fetch(TRANSPORT.getBaseLink() + "/clanwarleagues/wars/" + encodedTag,
+                            encodedTag);
+                    if (WAR_ENDED.equals(response.optString("state", null)))
+                        endedWars.put(warTag, response);
+                    pendingWars.remove(warTag, war);
+                    war.complete(response);
+                } catch (Throwable e) {
+                    pendingWars.remove(warTag, war);
+                    war.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingWars.remove(warTag, war);
+            war.completeExceptionally(e);
+        }
+        return war;
+    }
+
+    private static JSONObject await(CompletableFuture<JSONObject> war) throws COCServerConnectionException, InvalidItemTagException {
+        try {
+            return war.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new COCServerConnectionException(-1, e.getClass().getSimpleName(),
+                    "Interrupted while waiting for the clan war league war");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof COCServerConnectionException)
+                throw (COCServerConnectionException) cause;
+            if (cause instanceof InvalidItemTagException)
+                throw (InvalidItemTagException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+}
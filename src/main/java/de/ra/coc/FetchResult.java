@@ -0,0 +1,73 @@
+package de.ra.coc;
+
+/**
+ * This class represents the result of a single request of a bulk request. The result is either the retrieved
+ * value or the failure of the request, for example {@link de.ra.exception.tagException.InvalidPlayerTagException}
+ * or {@link de.ra.exception.serverConnectionException.COCServerConnectionException}.
+ *
+ * @param <T> Type of the retrieved value.
+ * @author Ranjith Krishnamurthy
+ */
+public final class FetchResult<T> {
+    private final T value;
+    private final Throwable failure;
+
+    private FetchResult(T value, Throwable failure) {
+        this.value = value;
+        this.failure = failure;
+    }
+
+    /**
+     * This method creates the result of a successful request.
+     *
+     * @param value Retrieved value.
+     * @param <T>   Type of the retrieved value.
+     * @return Successful result.
+     */
+    public static <T> FetchResult<T> success(T value) {
+        return new FetchResult<>(value, null);
+    }
+
+    /**
+     * This method creates the result of a failed request.
+     *
+     * @param failure Failure of the request.
+     * @param <T>     Type of the value that is not retrieved.
+     * @return Failed result.
+     */
+    public static <T> FetchResult<T> failure(Throwable failure) {
+        return new FetchResult<>(null, failure);
+    }
+
+    /**
+     * This method returns whether the request is successful.
+     *
+     * @return true if the request is successful, false otherwise.
+     */
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /**
+     * This method returns the retrieved value.
+     *
+     * @return Retrieved value. If the request is failed then this method returns null.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * This method returns the failure of the request.
+     *
+     * @return Failure of the request. If the request is successful then this method returns null.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "FetchResult[" + value + "]" : "FetchResult[failure=" + failure + "]";
+    }
+}
@@ -0,0 +1,92 @@
+package de.ra.coc;
+
+import de.ra.coc.Clan.Clan;
+import de.ra.coc.Clan.ClanRoster;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class represents a clan together with the complete information of all its members. It is created by
+ * {@link de.ra.coc.COCClient#hydrateClanAsync(String, long, java.util.concurrent.TimeUnit)}. The information of a member that failed to
+ * load is reported by {@link #getFailures()}, the other members are available anyway.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public final class HydratedClan {
+    private final Clan clan;
+    private final ClanRoster members;
+    private final Map<String, FetchResult<COCPlayers>> players;
+
+    HydratedClan(Clan clan, ClanRoster members, Map<String, FetchResult<COCPlayers>> players) {
+        this.clan = clan;
+        this.members = members;
+        this.players = Collections.unmodifiableMap(players);
+    }
+
+    /**
+     * This method returns the clan.
+     *
+     * @return Clan.
+     */
+    public Clan getClan() {
+        return clan;
+    }
+
+    /**
+     * This method returns the members of the clan at the time the clan was retrieved.
+     *
+     * @return Members of the clan.
+     */
+    public ClanRoster getMembers() {
+        return members;
+    }
+
+    /**
+     * This method returns the result of every member, in the order of the members of the clan.
+     *
+     * @return Result of every member by player's tag.
+     */
+    public Map<String, FetchResult<COCPlayers>> getPlayers() {
+        return players;
+    }
+
+    /**
+     * This method returns the information of the member with the given tag.
+     *
+     * @param playerTag Player's tag.
+     * @return Information of the member or null if the player is not a member or failed to load.
+     */
+    public COCPlayers getPlayer(String playerTag) {
+        FetchResult<COCPlayers> player = players.get(playerTag);
+        return player == null ? null : player.getValue();
+    }
+
+    /**
+     * This method returns the failure of every member that failed to load.
+     *
+     * @return Failure by player's tag, in the order of the members of the clan.
+     */
+    public Map<String, Throwable> getFailures() {
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        for (Map.Entry<String, FetchResult<COCPlayers>> player : players.entrySet()) {
+            if (!player.getValue().isSuccess())
+                failures.put(player.getKey(), player.getValue().getFailure());
+        }
+        return failures;
+    }
+
+    /**
+     * This method checks whether the information of all the members is loaded.
+     *
+     * @return true if no member failed to load, false otherwise.
+     */
+    public boolean isComplete() {
+        for (FetchResult<COCPlayers> player : players.values()) {
+            if (!player.isSuccess())
+                return false;
+        }
+        return true;
+    }
+}
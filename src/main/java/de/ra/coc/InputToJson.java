@@ -1,14 +1,16 @@
 package de.ra.coc;
 
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 
 /**
  * This class retrieves the JSONObject from the InputStream connected to the Clash of Clan server.
+ * The UTF-8 bytes of the stream are decoded and parsed in a single pass, without copying the
+ * complete response into a String first.
  *
  * @author Ranjith Krishnamurthy
  */
@@ -17,37 +19,35 @@ public class InputToJson {
      * This method retrieves the JSONObject from the InputStream connected to the Clash of Clan server.
      *
      * @param input InputStream connected to Clash of Clan server.
-     * @return JSONObject.
+     * @return JSONObject. If the stream is empty or does not contain a valid JSON object, then this method
+     * returns null.
      */
     public static JSONObject getJSONObject(InputStream input) {
-        JSONObject json = null;
-
-        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(input));
-        StringBuilder response = new StringBuilder();
-
-        String line = null;
         try {
-            while ((line = bufferedReader.readLine()) != null) {
-                response.append(line + "\n");
-            }
-        } catch (IOException e) {
+            return readJSONObject(input);
+        } catch (IOException | JSONException e) {
             e.printStackTrace();
-        } finally {
-            try {
-                input.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
         }
+        return null;
+    }
 
-        if (!(response.length() == 0)) {
-            try {
-                json = new JSONObject(response.toString());
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+    /**
+     * This method parses the JSONObject from the InputStream connected to the Clash of Clan server.
+     * The stream is closed after the object is parsed.
+     *
+     * @param input InputStream connected to Clash of Clan server.
+     * @return JSONObject. If the stream is empty, then this method returns null.
+     * @throws IOException   If the stream can not be read.
+     * @throws JSONException If the stream does not contain a valid JSON object.
+     */
+    public static JSONObject readJSONObject(InputStream input) throws IOException, JSONException {
+        try (Utf8StreamReader reader = new Utf8StreamReader(input)) {
+            JSONTokener tokener = new JSONTokener(reader);
+            if (tokener.nextClean() == 0)
+                return null;
 
+            tokener.back();
+            return new JSONObject(tokener);
         }
-        return json;
     }
 }
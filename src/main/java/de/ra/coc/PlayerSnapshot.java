@@ -0,0 +1,478 @@
+package de.ra.coc;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is an immutable typed snapshot of the Clash of Clan's player information.
+ * The snapshot is decoded once from the response of the Clash of Clan server, so reading a value does not
+ * look up the JSONObject again. The default values of missing information are the same as of the
+ * getters of {@link de.ra.coc.COCPlayers}.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public final class PlayerSnapshot {
+    private final String tag;
+    private final String name;
+    private final String role;
+    private final int experienceLevel;
+    private final int townHallLevel;
+    private final int builderHallLevel;
+    private final int currentTrophies;
+    private final int bestTrophies;
+    private final int currentVersusTrophies;
+    private final int bestVersusTrophies;
+    private final int warStars;
+    private final int attackWins;
+    private final int defenceWins;
+    private final int versusBattleWins;
+    private final int troopsDonated;
+    private final int troopsReceived;
+    private final ClanInfo clan;
+    private final LeagueInfo league;
+    private final List<UnitLevel> troops;
+    private final List<UnitLevel> spells;
+    private final List<UnitLevel> heroes;
+
+    private PlayerSnapshot(JSONObject player) {
+        tag = player.optString("tag", null);
+        name = player.optString("name", "NotGiven");
+        role = player.optString("role", "NotApplicable");
+        experienceLevel = player.optInt("expLevel", -1);
+        townHallLevel = player.optInt("townHallLevel", 0);
+        builderHallLevel = player.optInt("builderHallLevel", 0);
+        currentTrophies = player.optInt("trophies", 0);
+        bestTrophies = player.optInt("bestTrophies", -1);
+        currentVersusTrophies = player.optInt("versusTrophies", 0);
+        bestVersusTrophies = player.optInt("bestVersusTrophies", -1);
+        warStars = player.optInt("warStars", 0);
+        attackWins = player.optInt("attackWins", 0);
+        defenceWins = player.optInt("defenseWins", 0);
+        versusBattleWins = player.optInt("versusBattleWinCount", 0);
+        troopsDonated = player.optInt("donations", 0);
+        troopsReceived = player.optInt("donationsReceived", 0);
+
+        JSONObject clanObject = player.optJSONObject("clan");
+        clan = clanObject == null ? null : new ClanInfo(clanObject);
+
+        JSONObject leagueObject = player.optJSONObject("league");
+        league = leagueObject == null ? null : new LeagueInfo(leagueObject);
+
+        troops = decodeUnits(player.optJSONArray("troops"));
+        spells = decodeUnits(player.optJSONArray("spells"));
+        heroes = decodeUnits(player.optJSONArray("heroes"));
+    }
+
+    /**
+     * This method decodes the snapshot from the player information retrieved from the Clash of Clan server.
+     *
+     * @param player Player information in JSONObject format.
+     * @return Snapshot of the player.
+     */
+    public static PlayerSnapshot fromJSON(JSONObject player) {
+        return new PlayerSnapshot(player);
+    }
+
+    private static List<UnitLevel> decodeUnits(JSONArray array) {
+        if (array == null || array.length() == 0)
+            return Collections.emptyList();
+
+        List<UnitLevel> units = new ArrayList<>(array.length());
+        for (int index = 0; index < array.length(); index++) {
+            JSONObject unit = array.optJSONObject(index);
+            if (unit != null)
+                units.add(new UnitLevel(unit));
+        }
+        return Collections.unmodifiableList(units);
+    }
+
+    /**
+     * This method returns the player's tag.
+     *
+     * @return Player's tag.
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * This method returns the player's name.
+     *
+     * @return Player's name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * This method returns the player's role in the clan.
+     *
+     * @return Player's role in the clan. If player is not in any clan then this method returns "NotApplicable".
+     */
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * This method returns the player's experience level.
+     *
+     * @return Player's experience level.
+     */
+    public int getExperienceLevel() {
+        return experienceLevel;
+    }
+
+    /**
+     * This method returns the player's town hall level in home village.
+     *
+     * @return Player's town hall level in home village.
+     */
+    public int getTownHallLevel() {
+        return townHallLevel;
+    }
+
+    /**
+     * This method returns the player's builder hall level in builder base.
+     *
+     * @return Player's builder hall level. If the player does not have builder hall then this method return 0.
+     */
+    public int getBuilderHallLevel() {
+        return builderHallLevel;
+    }
+
+    /**
+     * This method returns the player's current trophies in home village.
+     *
+     * @return Player's current trophies in home village.
+     */
+    public int getCurrentTrophies() {
+        return currentTrophies;
+    }
+
+    /**
+     * This method returns the player's best trophies in home village.
+     *
+     * @return Player's best trophies in home village.
+     */
+    public int getBestTrophies() {
+        return bestTrophies;
+    }
+
+    /**
+     * This method returns the player's current trophies in builder base.
+     *
+     * @return Player's current trophies in builder base.
+     */
+    public int getCurrentVersusTrophies() {
+        return currentVersusTrophies;
+    }
+
+    /**
+     * This method returns the player's best trophies in builder base.
+     *
+     * @return Player's best trophies in builder base. If the player does not have builder base then this method
+     * returns -1.
+     */
+    public int getBestVersusTrophies() {
+        return bestVersusTrophies;
+    }
+
+    /**
+     * This method returns the number of war stars of the player.
+     *
+     * @return Number of war stars.
+     */
+    public int getWarStars() {
+        return warStars;
+    }
+
+    /**
+     * This method returns the number of attacks won in home village.
+     *
+     * @return Number of attacks won in home village.
+     */
+    public int getAttackWins() {
+        return attackWins;
+    }
+
+    /**
+     * This method returns the number of defence won in home village.
+     *
+     * @return Number of defence won in home village.
+     */
+    public int getDefenceWins() {
+        return defenceWins;
+    }
+
+    /**
+     * This method returns the number of battle won in builder base.
+     *
+     * @return Number of battle won in builder base.
+     */
+    public int getVersusBattleWins() {
+        return versusBattleWins;
+    }
+
+    /**
+     * This method returns the number of troops donation by the player.
+     *
+     * @return Number of troops donation by the player.
+     */
+    public int getTroopsDonated() {
+        return troopsDonated;
+    }
+
+    /**
+     * This method returns the number of troops received by the other clan member.
+     *
+     * @return Number of troops received by the other clan member.
+     */
+    public int getTroopsReceived() {
+        return troopsReceived;
+    }
+
+    /**
+     * This method returns the player's clan.
+     *
+     * @return Player's clan. If the player is not in any clan then this method returns null.
+     */
+    public ClanInfo getClan() {
+        return clan;
+    }
+
+    /**
+     * This method returns the league earned by the player.
+     *
+     * @return League of the player. If the player is not assigned to any league then this method returns null.
+     */
+    public LeagueInfo getLeague() {
+        return league;
+    }
+
+    /**
+     * This method returns the player's troops in the order of the Clash of Clan server.
+     *
+     * @return Unmodifiable list of troops.
+     */
+    public List<UnitLevel> getTroops() {
+        return troops;
+    }
+
+    /**
+     * This method returns the player's spells in the order of the Clash of Clan server.
+     *
+     * @return Unmodifiable list of spells.
+     */
+    public List<UnitLevel> getSpells() {
+        return spells;
+    }
+
+    /**
+     * This method returns the player's heroes in the order of the Clash of Clan server.
+     *
+     * @return Unmodifiable list of heroes.
+     */
+    public List<UnitLevel> getHeroes() {
+        return heroes;
+    }
+
+    /**
+     * This class represents the clan of a player.
+     */
+    public static final class ClanInfo {
+        private final String tag;
+        private final String name;
+        private final int clanLevel;
+        private final String smallBadgeUrl;
+        private final String mediumBadgeUrl;
+        private final String largeBadgeUrl;
+
+        private ClanInfo(JSONObject clan) {
+            tag = clan.optString("tag", "NotApplicable");
+            name = clan.optString("name", "NotApplicable");
+            clanLevel = clan.optInt("clanLevel", -1);
+
+            JSONObject badgeUrls = clan.optJSONObject("badgeUrls");
+            smallBadgeUrl = badgeUrls == null ? "NotApplicable" : badgeUrls.optString("small", "NotApplicable");
+            mediumBadgeUrl = badgeUrls == null ? "NotApplicable" : badgeUrls.optString("medium", "NotApplicable");
+            largeBadgeUrl = badgeUrls == null ? "NotApplicable" : badgeUrls.optString("large", "NotApplicable");
+        }
+
+        /**
+         * This method returns the clan tag.
+         *
+         * @return Clan tag.
+         */
+        public String getTag() {
+            return tag;
+        }
+
+        /**
+         * This method returns the clan name.
+         *
+         * @return Clan name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * This method returns the clan level.
+         *
+         * @return Clan level.
+         */
+        public int getClanLevel() {
+            return clanLevel;
+        }
+
+        /**
+         * This method returns the URL to the clan small badge.
+         *
+         * @return URL to the clan small badge.
+         */
+        public String getSmallBadgeUrl() {
+            return smallBadgeUrl;
+        }
+
+        /**
+         * This method returns the URL to the clan medium badge.
+         *
+         * @return URL to the clan medium badge.
+         */
+        public String getMediumBadgeUrl() {
+            return mediumBadgeUrl;
+        }
+
+        /**
+         * This method returns the URL to the clan large badge.
+         *
+         * @return URL to the clan large badge.
+         */
+        public String getLargeBadgeUrl() {
+            return largeBadgeUrl;
+        }
+    }
+
+    /**
+     * This class represents the league earned by a player.
+     */
+    public static final class LeagueInfo {
+        private final int id;
+        private final String name;
+        private final String tinyBadgeUrl;
+        private final String smallBadgeUrl;
+        private final String mediumBadgeUrl;
+
+        private LeagueInfo(JSONObject league) {
+            id = league.optInt("id", 0);
+            name = league.optString("name", "League Not Assigned");
+
+            JSONObject iconUrls = league.optJSONObject("iconUrls");
+            tinyBadgeUrl = iconUrls == null ? "League Not Assigned" : iconUrls.optString("tiny", "League Not Assigned");
+            smallBadgeUrl = iconUrls == null ? "League Not Assigned" : iconUrls.optString("small", "League Not Assigned");
+            mediumBadgeUrl = iconUrls == null ? "League Not Assigned" : iconUrls.optString("medium", "League Not Assigned");
+        }
+
+        /**
+         * This method returns the league ID.
+         *
+         * @return League ID.
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * This method returns the league name.
+         *
+         * @return League name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * This method returns the tiny badge URL of the league.
+         *
+         * @return Tiny badge URL of the league.
+         */
+        public String getTinyBadgeUrl() {
+            return tinyBadgeUrl;
+        }
+
+        /**
+         * This method returns the small badge URL of the league.
+         *
+         * @return Small badge URL of the league.
+         */
+        public String getSmallBadgeUrl() {
+            return smallBadgeUrl;
+        }
+
+        /**
+         * This method returns the medium badge URL of the league.
+         *
+         * @return Medium badge URL of the league.
+         */
+        public String getMediumBadgeUrl() {
+            return mediumBadgeUrl;
+        }
+    }
+
+    /**
+     * This class represents the level of a troop, spell or hero unlocked by a player.
+     */
+    public static final class UnitLevel {
+        private final String name;
+        private final String village;
+        private final int level;
+        private final int maxLevel;
+
+        private UnitLevel(JSONObject unit) {
+            name = unit.optString("name", "NotGiven");
+            village = unit.optString("village", "NotApplicable");
+            level = unit.optInt("level", 0);
+            maxLevel = unit.optInt("maxLevel", 0);
+        }
+
+        /**
+         * This method returns the unit name.
+         *
+         * @return Unit name. Example: Archer, Lightning Spell, Barbarian King etc.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * This method returns the village name of the unit.
+         *
+         * @return Village name of the unit. Example: home, builderBase.
+         */
+        public String getVillage() {
+            return village;
+        }
+
+        /**
+         * This method returns the current level of the unit.
+         *
+         * @return Current level of the unit.
+         */
+        public int getLevel() {
+            return level;
+        }
+
+        /**
+         * This method returns the maximum level of the unit.
+         *
+         * @return Maximum level of the unit.
+         */
+        public int getMaxLevel() {
+            return maxLevel;
+        }
+    }
+}
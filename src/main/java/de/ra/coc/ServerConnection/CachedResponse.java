@@ -0,0 +1,60 @@
+package de.ra.coc.ServerConnection;
+
+import org.json.JSONObject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is a response of the Clash of Clan server stored in a {@link de.ra.coc.ServerConnection.ResponseCache}.
+ * A fresh response is returned without sending a request. A response that is not fresh anymore but has an entity
+ * tag is revalidated with the server, and if the server answers with the status code 304, then the stored response
+ * is returned without downloading and parsing it again.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public final class CachedResponse {
+    private final JSONObject response;
+    private final String eTag;
+    private final long expiresAt;
+
+    /**
+     * Constructs the CachedResponse.
+     *
+     * @param response   Response of the Clash of Clan server.
+     * @param eTag       Entity tag of the response or null if the server did not send one.
+     * @param timeToLive Time the response is fresh.
+     * @param unit       Unit of the time to live.
+     */
+    public CachedResponse(JSONObject response, String eTag, long timeToLive, TimeUnit unit) {
+        this.response = response;
+        this.eTag = eTag;
+        this.expiresAt = System.nanoTime() + unit.toNanos(timeToLive);
+    }
+
+    /**
+     * This method returns the stored response.
+     *
+     * @return Response of the Clash of Clan server.
+     */
+    public JSONObject getResponse() {
+        return response;
+    }
+
+    /**
+     * This method returns the entity tag of the response.
+     *
+     * @return Entity tag or null if the server did not send one.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * This method checks whether the response can be returned without asking the server.
+     *
+     * @return true if the response is fresh, false otherwise.
+     */
+    public boolean isFresh() {
+        return expiresAt - System.nanoTime() > 0;
+    }
+}
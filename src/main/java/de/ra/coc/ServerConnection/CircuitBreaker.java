@@ -0,0 +1,155 @@
+package de.ra.coc.ServerConnection;
+
+import de.ra.exception.serverConnectionException.CircuitOpenException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class stops the requests to the Clash of Clan server while the server is clearly down, for example during a
+ * maintenance. After the given number of failures in a row the circuit opens and every request fails immediately
+ * with {@link de.ra.exception.serverConnectionException.CircuitOpenException}. When the open time is over, a single
+ * trial request is sent. If it succeeds, the circuit closes again, otherwise it stays open for another open time.
+ * Only the requests without response and the responses with a status code of 500 or above count as failure. A
+ * request that is interrupted by the client does not count at all.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class CircuitBreaker {
+    /**
+     * Default number of failures in a row that opens the circuit.
+     */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    /**
+     * Default time in milliseconds the circuit stays open.
+     */
+    public static final long DEFAULT_OPEN_TIME = 30000;
+
+    /**
+     * State of the circuit.
+     */
+    public enum State {
+        /**
+         * Requests are sent.
+         */
+        CLOSED,
+
+        /**
+         * Requests fail immediately.
+         */
+        OPEN,
+
+        /**
+         * A single trial request is sent to check whether the server is available again.
+         */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openTimeNanos;
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * Constructs the CircuitBreaker with the default failure threshold and open time.
+     */
+    public CircuitBreaker() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_TIME, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructs the CircuitBreaker.
+     *
+     * @param failureThreshold Number of failures in a row that opens the circuit.
+     * @param openTime         Time the circuit stays open.
+     * @param unit             Unit of the open time.
+     * @throws IllegalArgumentException If the failure threshold is less than 1.
+     */
+    public CircuitBreaker(int failureThreshold, long openTime, TimeUnit unit) {
+        if (failureThreshold < 1)
+            throw new IllegalArgumentException("Failure threshold must be at least 1");
+
+        this.failureThreshold = failureThreshold;
+        this.openTimeNanos = unit.toNanos(openTime);
+    }
+
+    /**
+     * This method checks whether a request may be sent.
+     *
+     * @throws CircuitOpenException If the circuit is open.
+     */
+    public synchronized void beforeRequest() throws CircuitOpenException {
+        if (state == State.CLOSED)
+            return;
+
+        long remaining = openedAt + openTimeNanos - System.nanoTime();
+        if (state == State.OPEN && remaining <= 0) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return;
+        }
+
+        throw new CircuitOpenException(Math.max(0, TimeUnit.NANOSECONDS.toMillis(remaining)));
+    }
+
+    /**
+     * This method records that the server answered the request.
+     */
+    public synchronized void recordSuccess() {
+        failures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    /**
+     * This method records that the server failed to answer the request.
+     */
+    public synchronized void recordFailure() {
+        failures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * This method records that the request was abandoned by the client before the server answered, for example
+     * because the thread is interrupted. It counts neither as failure nor as success. If the request was the trial
+     * request, then the next request is sent as trial instead.
+     */
+    public synchronized void recordCancelled() {
+        trialInFlight = false;
+    }
+
+    /**
+     * This method closes the circuit and resets the number of failures.
+     */
+    public synchronized void reset() {
+        recordSuccess();
+    }
+
+    /**
+     * This method returns the state of the circuit.
+     *
+     * @return State of the circuit.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * This method returns the number of failures in a row.
+     *
+     * @return Number of failures in a row.
+     */
+    public synchronized int getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,206 @@
+package de.ra.coc.ServerConnection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class manages the pool of keep-alive connections to the Clash of Clan server that is shared by all the
+ * requests of {@link de.ra.coc.ServerConnection.HttpConnection}.
+ * <p>
+ * The idle connections are owned by the keep-alive cache of the JDK, which reuses a connection as long as its
+ * response body is read completely and closed, and closes it after the keep-alive timeout of the server. This class
+ * bounds the number of connections that are used at the same time to the configured pool size and consumes every
+ * response body, so the connections are returned to the cache. The cache is tuned by the system properties
+ * {@code http.keepAlive} and {@code http.maxConnections}, the maximum number of idle connections per server
+ * (5 by default). This class does not change any system property.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class ConnectionPool {
+    /**
+     * Default number of connections to the Clash of Clan server.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 20;
+
+    /**
+     * Default timeout in milliseconds to establish a connection to the Clash of Clan server.
+     */
+    public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+
+    /**
+     * Default timeout in milliseconds to read the response from the Clash of Clan server.
+     */
+    public static final int DEFAULT_READ_TIMEOUT = 30000;
+
+    private static final int DRAIN_BUFFER_SIZE = 4096;
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private static volatile int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    private static volatile int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private static volatile int readTimeout = DEFAULT_READ_TIMEOUT;
+    private static volatile Semaphore permits = new Semaphore(DEFAULT_MAX_CONNECTIONS, true);
+
+    private ConnectionPool() {
+    }
+
+    /**
+     * This method sets the maximum number of connections to the Clash of Clan server that are used at the same time.
+     * The requests that are already waiting for a connection keep waiting for the previous pool.
+     *
+     * @param maxConnections Maximum number of connections.
+     * @throws IllegalArgumentException If the given number of connections is less than 1.
+     */
+    public static synchronized void setMaxConnections(int maxConnections) {
+        if (maxConnections < 1)
+            throw new IllegalArgumentException("Maximum number of connections must be at least 1");
+
+        ConnectionPool.maxConnections = maxConnections;
+        permits = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * This method returns the maximum number of connections to the Clash of Clan server that are used at the same time.
+     *
+     * @return Maximum number of connections.
+     */
+    public static int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * This method returns the number of connections that are currently not in use.
+     *
+     * @return Number of connections that are currently not in use.
+     */
+    public static int getAvailableConnections() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * This method sets the timeout to establish a connection to the Clash of Clan server.
+     *
+     * @param connectTimeout Timeout in milliseconds. 0 means no timeout.
+     */
+    public static void setConnectTimeout(int connectTimeout) {
+        ConnectionPool.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * This method returns the timeout to establish a connection to the Clash of Clan server.
+     *
+     * @return Timeout in milliseconds.
+     */
+    public static int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * This method sets the timeout to read the response from the Clash of Clan server.
+     *
+     * @param readTimeout Timeout in milliseconds. 0 means no timeout.
+     */
+    public static void setReadTimeout(int readTimeout) {
+        ConnectionPool.readTimeout = readTimeout;
+    }
+
+    /**
+     * This method returns the timeout to read the response from the Clash of Clan server.
+     *
+     * @return Timeout in milliseconds.
+     */
+    public static int getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * This method sets the time within which the requests sent by the current thread must be answered. The wait for
+     * a connection of the pool, the connect timeout and the read timeout of these requests are limited to the time
+     * that is left, so a request that is not answered in time fails even while it waits for the server. The deadline
+     * applies until {@link #clearRequestDeadline()} is called by the same thread.
+     *
+     * @param timeout Time from now within which the requests must be answered.
+     * @param unit    Unit of the timeout.
+     */
+    public static void setRequestDeadline(long timeout, TimeUnit unit) {
+        DEADLINE.set(System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * This method removes the deadline of the requests sent by the current thread, see
+     * {@link #setRequestDeadline(long, TimeUnit)}.
+     */
+    public static void clearRequestDeadline() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Waits until a connection of the pool is available, at most until the deadline of the current thread. The
+     * returned permit must be released after the response body is consumed.
+     */
+    static Semaphore acquire() throws InterruptedIOException {
+        Semaphore semaphore = permits;
+        try {
+            Long deadline = DEADLINE.get();
+            if (deadline == null)
+                semaphore.acquire();
+            else if (!semaphore.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+                throw new SocketTimeoutException("Deadline expired while waiting for a connection");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection");
+        }
+        return semaphore;
+    }
+
+    static HttpURLConnection openConnection(String link) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(link).openConnection();
+        connection.setConnectTimeout(limit(connectTimeout));
+        connection.setReadTimeout(limit(readTimeout));
+        connection.setUseCaches(false);
+        return connection;
+    }
+
+    /**
+     * Limits the given timeout to the time left until the deadline of the current thread.
+     */
+    private static int limit(int timeout) throws SocketTimeoutException {
+        Long deadline = DEADLINE.get();
+        if (deadline == null)
+            return timeout;
+
+        long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (left < 1)
+            throw new SocketTimeoutException("Deadline expired before the request was sent");
+        return timeout == 0 ? (int) Math.min(Integer.MAX_VALUE, left) : (int) Math.min(timeout, left);
+    }
+
+    /**
+     * Reads the remaining bytes of the given stream and closes it, so that the underlying connection is returned to
+     * the keep-alive cache of the JDK.
+     */
+    static void release(InputStream input) {
+        if (input == null)
+            return;
+
+        try {
+            byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+            while (input.read(buffer) != -1) {
+                // discard
+            }
+        } catch (IOException ignored) {
+            // the connection is closed by the JDK and will not be reused
+        } finally {
+            try {
+                input.close();
+            } catch (IOException ignored) {
+                // nothing to do
+            }
+        }
+    }
+}
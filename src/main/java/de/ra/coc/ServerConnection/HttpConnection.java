@@ -8,11 +8,29 @@ import org.json.JSONObject;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.HttpURLConnection;
-import java.net.URL;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class provides the functionality to connect to the Clash of Clan server and retrieves the results.
+ * The connections are taken from the shared {@link de.ra.coc.ServerConnection.ConnectionPool} and are kept alive
+ * for the next request. Before a request is sent, it waits for a permit of the
+ * {@link de.ra.coc.ServerConnection.RateLimiter} of its JSON Web Token. Failed requests are retried with the
+ * {@link de.ra.coc.ServerConnection.RetryPolicy} of this class, and no request is sent while the
+ * {@link de.ra.coc.ServerConnection.CircuitBreaker} of this class is open. If a
+ * {@link de.ra.coc.ServerConnection.ResponseCache} is set, then the cached responses are returned without sending
+ * a request, and the cached responses that are not fresh anymore are revalidated with their entity tag, so an
+ * unchanged response is neither downloaded nor parsed again. Concurrent requests of the same link with the same
+ * JSON Web Token or pool of tokens share a single request to the server and its result.
  *
  * @author Ranjith Krishnamurthy
  */
@@ -27,6 +45,33 @@ public class HttpConnection {
      */
     public static final String API_VERSION = "v1";
 
+    private static volatile RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+    private static volatile CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private static volatile ResponseCache responseCache;
+    private static volatile NegativeCache negativeCache;
+    private static volatile boolean requestCoalescing = true;
+
+    private static final ConcurrentMap<InFlightKey, CompletableFuture<JSONObject>> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final AtomicLong COALESCED_REQUESTS = new AtomicLong();
+    private static final AtomicLong NOT_MODIFIED_RESPONSES = new AtomicLong();
+
+    /**
+     * This method connects to the provided Class of Clan API link with a token of the given pool and returns the
+     * result in JSONObject format. If the server throttles the token or rejects its key, see
+     * {@link de.ra.coc.ServerConnection.TokenPool#isRejection(COCServerConnectionException)}, then the token is
+     * removed from the rotation and the request is sent again with the next token of the pool.
+     *
+     * @param link      Complete link.
+     * @param tag       Tag. It can be Player tag, Clan tag or null.
+     * @param tokenPool Pool of JSON Web Tokens.
+     * @return Result of the request in JSONObject format.
+     * @throws COCServerConnectionException If fails to connect to the Clash of Clan server.
+     * @throws InvalidItemTagException      If the given tag is invalid.
+     */
+    public static JSONObject connectAndGetResults(String link, String tag, TokenPool tokenPool) throws COCServerConnectionException, InvalidItemTagException {
+        return fetch(link, tag, tokenPool, eTag -> connectWithTokenPool(link, tag, tokenPool, eTag));
+    }
+
     /**
      * This method connects to the provided Class of Clan API link and returns the result in JSONObject format.
      *
@@ -38,46 +83,409 @@ public class HttpConnection {
      * @throws InvalidItemTagException      If the given tag is invalid.
      */
     public static JSONObject connectAndGetResults(String link, String tag, String JWTOKEN) throws COCServerConnectionException, InvalidItemTagException {
+        return fetch(link, tag, JWTOKEN, eTag -> connectAndGetResults(link, tag, JWTOKEN, eTag, true));
+    }
+
+    private static JSONObject fetch(String link, String tag, Object credentials, Request request) throws COCServerConnectionException, InvalidItemTagException {
+        NegativeCache negative = negativeCache;
+        if (negative != null && negative.contains(link))
+            throw new InvalidItemTagException(tag);
+
+        ResponseCache cache = responseCache;
+        CachedResponse cached = cache == null ? null : cache.get(link);
+        if (cached != null && cached.isFresh())
+            return cached.getResponse();
+
+        if (!requestCoalescing)
+            return cache(cache, link, cached, send(link, request, cached));
+
+        // The token is part of the key, so a rejection of one token is not passed to the callers of another token.
+        InFlightKey key = new InFlightKey(link, credentials);
+        CompletableFuture<JSONObject> call = new CompletableFuture<>();
+        CompletableFuture<JSONObject> inFlight = IN_FLIGHT.putIfAbsent(key, call);
+        if (inFlight != null) {
+            COALESCED_REQUESTS.incrementAndGet();
+            return await(inFlight);
+        }
+
+        try {
+            JSONObject response = cache(cache, link, cached, send(link, request, cached));
+            call.complete(response);
+            return response;
+        } catch (COCServerConnectionException | InvalidItemTagException | RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(key, call);
+        }
+    }
+
+    private static Response send(String link, Request request, CachedResponse cached) throws COCServerConnectionException, InvalidItemTagException {
+        try {
+            return request.send(cached == null ? null : cached.getETag());
+        } catch (InvalidItemTagException e) {
+            NegativeCache negative = negativeCache;
+            if (negative != null && NegativeCache.isTagLink(link))
+                negative.put(link);
+            throw e;
+        }
+    }
+
+    private static JSONObject await(CompletableFuture<JSONObject> inFlight) throws COCServerConnectionException, InvalidItemTagException {
+        try {
+            return inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new COCServerConnectionException(-1, e.getClass().getSimpleName(),
+                    "Interrupted while waiting for the same request of another thread");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof COCServerConnectionException)
+                throw (COCServerConnectionException) cause;
+            if (cause instanceof InvalidItemTagException)
+                throw (InvalidItemTagException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static JSONObject cache(ResponseCache cache, String link, CachedResponse cached, Response response) {
+        if (response.notModified) {
+            NOT_MODIFIED_RESPONSES.incrementAndGet();
+            cache.put(link, cached.getResponse(), response.eTag == null ? cached.getETag() : response.eTag,
+                    response.maxAge, TimeUnit.SECONDS);
+            return cached.getResponse();
+        }
+
+        if (cache != null && response.body != null && !response.noStore)
+            cache.put(link, response.body, response.eTag, response.maxAge, TimeUnit.SECONDS);
+        return response.body;
+    }
+
+    private static Response connectWithTokenPool(String link, String tag, TokenPool tokenPool, String eTag) throws COCServerConnectionException, InvalidItemTagException {
+        boolean retryRejections = tokenPool.size() == 1;
+        for (int attempt = 1; ; attempt++) {
+            String token = tokenPool.acquire();
+            try {
+                return connectAndGetResults(link, tag, token, eTag, retryRejections);
+            } catch (COCServerConnectionException e) {
+                if (!TokenPool.isRejection(e))
+                    throw e;
+
+                if (e.getRetryAfter() > 0)
+                    tokenPool.suspend(token, e.getRetryAfter(), TimeUnit.SECONDS);
+                else
+                    tokenPool.suspend(token);
+
+                if (attempt >= tokenPool.size() || tokenPool.getActiveTokens().isEmpty())
+                    throw e;
+            }
+        }
+    }
+
+    private static Response connectAndGetResults(String link, String tag, String JWTOKEN, String eTag, boolean retryRejections) throws COCServerConnectionException, InvalidItemTagException {
+        RetryPolicy policy = retryPolicy;
+        CircuitBreaker breaker = circuitBreaker;
+
+        for (int attempt = 1; ; attempt++) {
+            breaker.beforeRequest();
+            try {
+                Response result = send(link, tag, JWTOKEN, eTag);
+                breaker.recordSuccess();
+                return result;
+            } catch (InvalidItemTagException e) {
+                breaker.recordSuccess();
+                throw e;
+            } catch (RuntimeException e) {
+                breaker.recordFailure();
+                throw e;
+            } catch (COCServerConnectionException e) {
+                int statusCode = e.getStatusCode();
+                if (statusCode == -1 && Thread.currentThread().isInterrupted()) {
+                    // Interrupted while waiting for the rate limit or a connection, not a failure of the server.
+                    breaker.recordCancelled();
+                    throw e;
+                }
+
+                if (statusCode == -1 || statusCode >= 500)
+                    breaker.recordFailure();
+                else
+                    breaker.recordSuccess();
+
+                if (!policy.isRetryable(statusCode) || (!retryRejections && TokenPool.isRejection(e)) ||
+                        Thread.currentThread().isInterrupted())
+                    throw e;
+
+                long backoff = policy.getBackoffMillis(attempt, e.getRetryAfter());
+                if (backoff < 0)
+                    throw e;
+
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static Response send(String link, String tag, String JWTOKEN, String eTag) throws COCServerConnectionException, InvalidItemTagException {
         //Todo: Before send connection request, sanitize the provided link.
 
+        Semaphore permit = null;
+        HttpURLConnection connection = null;
+        InputStream input = null;
         try {
-            HttpURLConnection connection = (HttpURLConnection) new URL(link).openConnection();
+            acquireRatePermit(JWTOKEN);
+            permit = ConnectionPool.acquire();
+            connection = ConnectionPool.openConnection(link);
             connection.setRequestProperty("Accept", "application/json");
             connection.setRequestProperty("authorization", "Bearer " + JWTOKEN);
+            if (eTag != null)
+                connection.setRequestProperty("If-None-Match", eTag);
 
-            InputStream input;
             int statusCode = connection.getResponseCode();
+            String cacheControl = connection.getHeaderField("Cache-Control");
 
-            if (statusCode >= 200 && statusCode < 400) {
+            if (statusCode == 304 && eTag != null) {
+                input = connection.getInputStream();
+                return new Response(null, connection.getHeaderField("ETag"), cacheControl, true);
+            } else if (statusCode >= 200 && statusCode < 400) {
                 input = connection.getInputStream();
             } else if (statusCode == 404) {
-                connection.disconnect();
+                input = connection.getErrorStream();
                 throw new InvalidItemTagException(tag);
             } else {
                 input = connection.getErrorStream();
-                JSONObject response = InputToJson.getJSONObject(input);
+                JSONObject response = input == null ? null : InputToJson.getJSONObject(input);
                 String reason = "";
                 String message = "";
-                if (response.has("reason"))
+                if (response != null && response.has("reason"))
                     reason = (String) response.get("reason");
 
-                if (response.has("message"))
+                if (response != null && response.has("message"))
                     message = (String) response.get("message");
 
-                connection.disconnect();
                 throw new COCServerConnectionException(statusCode,
                         reason,
-                        message);
+                        message,
+                        parseRetryAfter(connection.getHeaderField("Retry-After")));
             }
 
-            JSONObject jsonObject = InputToJson.getJSONObject(input);
-            connection.disconnect();
+            return new Response(InputToJson.readJSONObject(input), connection.getHeaderField("ETag"), cacheControl, false);
+        } catch (IOException e) {
+            // A failed connection can not be reused, so it is closed instead of drained.
+            if (connection != null)
+                connection.disconnect();
+            input = null;
+            throw new COCServerConnectionException(-1, e.getClass().getSimpleName(), e.getMessage());
+        } catch (JSONException e) {
+            throw new COCServerConnectionException(-1, e.getClass().getSimpleName(), e.getMessage());
+        } finally {
+            ConnectionPool.release(input);
+            if (permit != null)
+                permit.release();
+        }
+    }
+
+    private static long parseMaxAge(String cacheControl) {
+        if (cacheControl == null)
+            return -1;
+
+        for (String directive : cacheControl.split(",")) {
+            directive = directive.trim().toLowerCase(Locale.ROOT);
+            if (directive.equals("no-cache"))
+                return 0;
 
-            return jsonObject;
-        } catch (IOException | JSONException e) {
-            e.printStackTrace();
+            if (directive.startsWith("max-age=")) {
+                try {
+                    return Math.max(0, Long.parseLong(directive.substring("max-age=".length()).replace("\"", "")));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
         }
+        return -1;
+    }
 
-        return new JSONObject();
+    private static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null)
+            return -1;
+
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void acquireRatePermit(String JWTOKEN) throws InterruptedIOException {
+        try {
+            RateLimiter.forToken(JWTOKEN).acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the rate limit");
+        }
+    }
+
+    /**
+     * This method sets the retry policy of all the requests.
+     *
+     * @param retryPolicy Retry policy. Use {@link de.ra.coc.ServerConnection.RetryPolicy#NO_RETRY} to send every
+     *                    request only once.
+     */
+    public static void setRetryPolicy(RetryPolicy retryPolicy) {
+        HttpConnection.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * This method returns the retry policy of all the requests.
+     *
+     * @return Retry policy.
+     */
+    public static RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * This method sets the circuit breaker of all the requests.
+     *
+     * @param circuitBreaker Circuit breaker.
+     */
+    public static void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        HttpConnection.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * This method returns the circuit breaker of all the requests.
+     *
+     * @return Circuit breaker.
+     */
+    public static CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * This method sets the cache of the responses of all the requests.
+     *
+     * @param responseCache Cache of the responses. null means that the responses are not cached.
+     */
+    public static void setResponseCache(ResponseCache responseCache) {
+        HttpConnection.responseCache = responseCache;
+    }
+
+    /**
+     * This method returns the cache of the responses of all the requests.
+     *
+     * @return Cache of the responses or null if the responses are not cached.
+     */
+    public static ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * This method sets the cache of the links that were answered with the status code 404. Only the links of a single
+     * player or clan are kept, see {@link de.ra.coc.ServerConnection.NegativeCache#isTagLink(String)}. A request of a
+     * kept link throws {@link de.ra.exception.tagException.InvalidItemTagException} without being sent.
+     *
+     * @param negativeCache Cache of the not found links. null means that the not found links are not kept.
+     */
+    public static void setNegativeCache(NegativeCache negativeCache) {
+        HttpConnection.negativeCache = negativeCache;
+    }
+
+    /**
+     * This method returns the cache of the links that were answered with the status code 404.
+     *
+     * @return Cache of the not found links or null if the not found links are not kept.
+     */
+    public static NegativeCache getNegativeCache() {
+        return negativeCache;
+    }
+
+    /**
+     * This method enables or disables the coalescing of concurrent requests. If enabled, a request of a link that
+     * is already sent by another thread with the same JSON Web Token or pool of tokens waits for the response of that
+     * request instead of sending the same request again. The coalescing is enabled by default.
+     *
+     * @param requestCoalescing true to enable the coalescing, false to disable it.
+     */
+    public static void setRequestCoalescing(boolean requestCoalescing) {
+        HttpConnection.requestCoalescing = requestCoalescing;
+    }
+
+    /**
+     * This method checks whether the concurrent requests are coalesced.
+     *
+     * @return true if the coalescing is enabled, false otherwise.
+     */
+    public static boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    /**
+     * This method returns the number of requests that waited for the same request of another thread instead of
+     * sending their own request.
+     *
+     * @return Number of coalesced requests.
+     */
+    public static long getCoalescedRequests() {
+        return COALESCED_REQUESTS.get();
+    }
+
+    /**
+     * This method returns the number of requests revalidated with the server that were answered with the status
+     * code 304, so the cached response was returned without downloading it again.
+     *
+     * @return Number of not modified responses.
+     */
+    public static long getNotModifiedResponses() {
+        return NOT_MODIFIED_RESPONSES.get();
+    }
+
+    private interface Request {
+        Response send(String eTag) throws COCServerConnectionException, InvalidItemTagException;
+    }
+
+    private static final class InFlightKey {
+        private final String link;
+        private final Object credentials;
+
+        private InFlightKey(String link, Object credentials) {
+            this.link = link;
+            this.credentials = credentials;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof InFlightKey))
+                return false;
+
+            InFlightKey key = (InFlightKey) other;
+            return link.equals(key.link) && Objects.equals(credentials, key.credentials);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * link.hashCode() + Objects.hashCode(credentials);
+        }
+    }
+
+    private static final class Response {
+        private final JSONObject body;
+        private final String eTag;
+        private final long maxAge;
+        private final boolean noStore;
+        private final boolean notModified;
+
+        private Response(JSONObject body, String eTag, String cacheControl, boolean notModified) {
+            this.body = body;
+            this.eTag = eTag;
+            this.maxAge = parseMaxAge(cacheControl);
+            this.noStore = cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-store");
+            this.notModified = notModified;
+        }
     }
 }
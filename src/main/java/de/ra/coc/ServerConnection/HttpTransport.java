@@ -0,0 +1,61 @@
+package de.ra.coc.ServerConnection;
+
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.tagException.InvalidItemTagException;
+import org.json.JSONObject;
+
+/**
+ * This class is the {@link de.ra.coc.ServerConnection.Transport} that sends the requests with
+ * {@link de.ra.coc.ServerConnection.HttpConnection}, so the requests are rate limited, retried, cached and coalesced
+ * as every other request. Every request is sent with a token of the given pool.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class HttpTransport implements Transport {
+    /**
+     * Base link of the Clash of Clan server.
+     */
+    public static final String DEFAULT_BASE_LINK = HttpConnection.API_LINK + HttpConnection.API_VERSION;
+
+    private final TokenPool TOKEN_POOL;
+    private final String baseLink;
+
+    /**
+     * Constructs the HttpTransport that sends the requests to the Clash of Clan server.
+     *
+     * @param tokenPool Pool of JSON Web Tokens.
+     */
+    public HttpTransport(TokenPool tokenPool) {
+        this(tokenPool, DEFAULT_BASE_LINK);
+    }
+
+    /**
+     * Constructs the HttpTransport that sends the requests to the given server.
+     *
+     * @param tokenPool Pool of JSON Web Tokens.
+     * @param baseLink  Link of the API including the API version. Example: http://127.0.0.1:8080/v1
+     */
+    public HttpTransport(TokenPool tokenPool, String baseLink) {
+        TOKEN_POOL = tokenPool;
+        this.baseLink = baseLink.endsWith("/") ? baseLink.substring(0, baseLink.length() - 1) : baseLink;
+    }
+
+    @Override
+    public String getBaseLink() {
+        return baseLink;
+    }
+
+    @Override
+    public JSONObject get(String link, String tag) throws COCServerConnectionException, InvalidItemTagException {
+        return HttpConnection.connectAndGetResults(link, tag, TOKEN_POOL);
+    }
+
+    /**
+     * This method returns the pool of JSON Web Tokens used by this transport.
+     *
+     * @return Pool of JSON Web Tokens.
+     */
+    public TokenPool getTokenPool() {
+        return TOKEN_POOL;
+    }
+}
@@ -0,0 +1,230 @@
+package de.ra.coc.ServerConnection;
+
+import org.json.JSONObject;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is a {@link de.ra.coc.ServerConnection.ResponseCache} that keeps the given number of responses and
+ * removes the least recently used response when it is full. Every response is fresh for the maximum age sent by the
+ * server, or for the time to live of its endpoint if the server did not send a maximum age. The endpoint is the path
+ * of the link without the API version and the tags, for example "players", "clans" or "clans/members". Responses
+ * with an entity tag are kept after they expire, so they can be revalidated with the server.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class LruResponseCache implements ResponseCache {
+    /**
+     * Default maximum number of cached responses.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    /**
+     * Default time to live in milliseconds of the cached responses.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE = 60000;
+
+    private final int maxEntries;
+    private final long defaultTimeToLiveNanos;
+    private final ConcurrentMap<String, Long> timeToLiveNanos = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, CachedResponse> entries;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs the LruResponseCache with the default maximum number of entries and time to live.
+     */
+    public LruResponseCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TIME_TO_LIVE, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructs the LruResponseCache.
+     *
+     * @param maxEntries Maximum number of cached responses.
+     * @param timeToLive Time to live of the responses of the endpoints without their own time to live.
+     * @param unit       Unit of the time to live.
+     * @throws IllegalArgumentException If the maximum number of entries is less than 1 or the time to live is
+     *                                  negative.
+     */
+    public LruResponseCache(int maxEntries, long timeToLive, TimeUnit unit) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("Maximum number of entries must be at least 1");
+
+        if (timeToLive < 0)
+            throw new IllegalArgumentException("Time to live must not be negative");
+
+        this.maxEntries = maxEntries;
+        this.defaultTimeToLiveNanos = unit.toNanos(timeToLive);
+        this.entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                if (size() <= LruResponseCache.this.maxEntries)
+                    return false;
+
+                evictionCount++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * This method sets the time to live of the responses of the given endpoint that do not have a maximum age.
+     * A time to live of 0 means that the responses of the endpoint are not cached.
+     *
+     * @param endpoint   Endpoint. Example: players, clans, clans/members, clans/warlog.
+     * @param timeToLive Time to live of the responses.
+     * @param unit       Unit of the time to live.
+     * @throws IllegalArgumentException If the time to live is negative.
+     */
+    public void setTimeToLive(String endpoint, long timeToLive, TimeUnit unit) {
+        if (timeToLive < 0)
+            throw new IllegalArgumentException("Time to live must not be negative");
+
+        timeToLiveNanos.put(endpoint, unit.toNanos(timeToLive));
+    }
+
+    /**
+     * This method returns the time to live of the responses of the given endpoint.
+     *
+     * @param endpoint Endpoint. Example: players, clans, clans/members, clans/warlog.
+     * @param unit     Unit of the returned time.
+     * @return Time to live of the responses.
+     */
+    public long getTimeToLive(String endpoint, TimeUnit unit) {
+        Long nanos = timeToLiveNanos.get(endpoint);
+        return unit.convert(nanos == null ? defaultTimeToLiveNanos : nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * This method returns the endpoint of the given link. The endpoint is the path of the link without the API
+     * version, the tags and the query.
+     *
+     * @param link Complete link of the request.
+     * @return Endpoint of the link. Example: players, clans, clans/members.
+     */
+    public static String getEndpoint(String link) {
+        int start = link.indexOf("://");
+        start = link.indexOf('/', start < 0 ? 0 : start + 3);
+        int end = link.indexOf('?');
+        if (end < 0)
+            end = link.length();
+
+        if (start < 0 || start >= end)
+            return "";
+
+        StringBuilder endpoint = new StringBuilder();
+        for (String segment : link.substring(start + 1, end).split("/")) {
+            if (segment.isEmpty() || segment.equals(HttpConnection.API_VERSION) ||
+                    segment.startsWith("%23") || segment.startsWith("#"))
+                continue;
+
+            if (endpoint.length() > 0)
+                endpoint.append('/');
+            endpoint.append(segment);
+        }
+        return endpoint.toString();
+    }
+
+    @Override
+    public synchronized CachedResponse get(String link) {
+        CachedResponse entry = entries.get(link);
+        if (entry != null && entry.isFresh()) {
+            hitCount++;
+            return entry;
+        }
+
+        missCount++;
+        if (entry != null && entry.getETag() == null) {
+            entries.remove(link);
+            return null;
+        }
+        return entry;
+    }
+
+    @Override
+    public void put(String link, JSONObject response, String eTag, long maxAge, TimeUnit unit) {
+        long timeToLive = getTimeToLive(getEndpoint(link), TimeUnit.NANOSECONDS);
+        if (response == null || timeToLive == 0)
+            return;
+
+        if (maxAge >= 0)
+            timeToLive = unit.toNanos(maxAge);
+
+        if (timeToLive == 0 && eTag == null) {
+            invalidate(link);
+            return;
+        }
+
+        CachedResponse entry = new CachedResponse(response, eTag, timeToLive, TimeUnit.NANOSECONDS);
+        synchronized (this) {
+            entries.put(link, entry);
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(String link) {
+        entries.remove(link);
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * This method removes all the responses that are not fresh anymore, including the responses that could be
+     * revalidated with their entity tag.
+     */
+    public synchronized void removeExpired() {
+        Iterator<CachedResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().isFresh())
+                iterator.remove();
+        }
+    }
+
+    /**
+     * This method returns the number of cached responses including the expired responses that are not removed yet.
+     *
+     * @return Number of cached responses.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * This method returns the number of responses removed because the cache was full.
+     *
+     * @return Number of evicted responses.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * This method returns the ratio of the requests answered from the cache.
+     *
+     * @return Hit rate between 0 and 1. If no request is looked up yet, then this method returns 0.
+     */
+    public synchronized double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+}
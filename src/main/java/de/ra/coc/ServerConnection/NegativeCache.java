@@ -0,0 +1,260 @@
+package de.ra.coc.ServerConnection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class keeps the links that were answered by the Clash of Clan server with the status code 404, for example
+ * the links of unknown player or clan tags. Only the links of a single player or clan are kept, see
+ * {@link #isTagLink(String)}, because the other endpoints also answer 404 for a valid tag, for example the league
+ * group of a clan that is not in the Clan War League. While a link is kept, {@link de.ra.coc.ServerConnection.HttpConnection}
+ * throws {@link de.ra.exception.tagException.InvalidItemTagException} without sending the request again. The cache
+ * keeps the given number of links and removes the least recently used link when it is full. Every link is removed
+ * after the time to live, so a tag that becomes valid later is requested again.
+ * <p>
+ * For large numbers of tags the cache can be created with a Bloom filter. The Bloom filter is checked before the
+ * cache without a lock, so the lookups of the valid tags, which are not in the cache, do not wait for each other.
+ * A tag is only rejected if it is in the cache, so a false positive of the Bloom filter never rejects a valid tag.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class NegativeCache {
+    /**
+     * Default maximum number of kept links.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    /**
+     * Default time to live in milliseconds of the kept links.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE = 3600000;
+
+    private final int maxEntries;
+    private final long timeToLiveNanos;
+    private final double falsePositiveRate;
+    private final LinkedHashMap<String, Long> entries;
+    private final AtomicLong hitCount = new AtomicLong();
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * Constructs the NegativeCache with the default maximum number of entries and time to live, without a Bloom
+     * filter.
+     */
+    public NegativeCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TIME_TO_LIVE, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructs the NegativeCache without a Bloom filter.
+     *
+     * @param maxEntries Maximum number of kept links.
+     * @param timeToLive Time a link is kept.
+     * @param unit       Unit of the time to live.
+     * @throws IllegalArgumentException If the maximum number of entries is less than 1 or the time to live is not
+     *                                  positive.
+     */
+    public NegativeCache(int maxEntries, long timeToLive, TimeUnit unit) {
+        this(maxEntries, timeToLive, unit, 0);
+    }
+
+    /**
+     * Constructs the NegativeCache with a Bloom filter that is sized for the maximum number of entries.
+     *
+     * @param maxEntries        Maximum number of kept links.
+     * @param timeToLive        Time a link is kept.
+     * @param unit              Unit of the time to live.
+     * @param falsePositiveRate False positive rate of the Bloom filter, between 0 and 1. 0 means no Bloom filter.
+     * @throws IllegalArgumentException If the maximum number of entries is less than 1, the time to live is not
+     *                                  positive or the false positive rate is not between 0 and 1.
+     */
+    public NegativeCache(int maxEntries, long timeToLive, TimeUnit unit, double falsePositiveRate) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("Maximum number of entries must be at least 1");
+
+        if (timeToLive <= 0)
+            throw new IllegalArgumentException("Time to live must be positive");
+
+        if (falsePositiveRate < 0 || falsePositiveRate >= 1)
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+
+        this.maxEntries = maxEntries;
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = falsePositiveRate > 0 ? new BloomFilter(maxEntries, falsePositiveRate) : null;
+        this.entries = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > NegativeCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * This method checks whether the given link is kept by this cache.
+     *
+     * @param link Complete link.
+     * @return true if the link was answered with the status code 404 within the time to live, false otherwise.
+     */
+    public boolean contains(String link) {
+        BloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(link))
+            return false;
+
+        synchronized (this) {
+            Long expiry = entries.get(link);
+            if (expiry == null)
+                return false;
+
+            if (expiry - System.nanoTime() <= 0) {
+                entries.remove(link);
+                return false;
+            }
+        }
+        hitCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * This method keeps the given link for the time to live.
+     *
+     * @param link Complete link.
+     */
+    public void put(String link) {
+        synchronized (this) {
+            entries.put(link, System.nanoTime() + timeToLiveNanos);
+            BloomFilter filter = bloomFilter;
+            if (filter != null && !filter.put(link))
+                rebuildBloomFilter();
+        }
+    }
+
+    /**
+     * This method checks whether the given link requests a single player or clan by its tag, for example
+     * https://api.clashofclans.com/v1/players/%232PP. Only these links are kept by
+     * {@link de.ra.coc.ServerConnection.HttpConnection}, as their status code 404 means that the tag does not exist.
+     *
+     * @param link Complete link.
+     * @return true if the link requests a player or a clan by its tag, false otherwise.
+     */
+    public static boolean isTagLink(String link) {
+        int end = link.indexOf('?');
+        String path = end < 0 ? link : link.substring(0, end);
+        int tagStart = path.lastIndexOf('/') + 1;
+        if (tagStart == path.length())
+            return false;
+
+        String endpoint = path.substring(0, tagStart - 1);
+        return endpoint.endsWith("/players") || endpoint.endsWith("/clans");
+    }
+
+    /**
+     * This method removes the given link from this cache.
+     *
+     * @param link Complete link.
+     */
+    public synchronized void invalidate(String link) {
+        entries.remove(link);
+    }
+
+    /**
+     * This method removes all the links from this cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        if (bloomFilter != null)
+            bloomFilter = new BloomFilter(maxEntries, falsePositiveRate);
+    }
+
+    /**
+     * This method returns the number of kept links, including the expired links that are not removed yet.
+     *
+     * @return Number of kept links.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * This method returns the number of requests that were rejected by this cache without a request.
+     *
+     * @return Number of rejected requests.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * This method checks whether this cache uses a Bloom filter.
+     *
+     * @return true if a Bloom filter is checked before the cache, false otherwise.
+     */
+    public boolean hasBloomFilter() {
+        return bloomFilter != null;
+    }
+
+    private void rebuildBloomFilter() {
+        BloomFilter filter = new BloomFilter(maxEntries, falsePositiveRate);
+        for (String link : entries.keySet())
+            filter.put(link);
+        bloomFilter = filter;
+    }
+
+    /**
+     * Bloom filter whose bits can be set and read by several threads without a lock. The links removed from the
+     * cache can not be removed from the filter, so the filter is rebuilt from the cache after it received twice
+     * the number of links it is sized for.
+     */
+    private static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final int bitCount;
+        private final int hashCount;
+        private final int capacity;
+        private int insertions;
+
+        private BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            bitCount = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, optimalBits));
+            hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+            bits = new AtomicLongArray((bitCount + 63) >>> 6);
+            capacity = expectedInsertions * 2;
+        }
+
+        private boolean put(String link) {
+            int first = link.hashCode();
+            int second = mix(first);
+            for (int index = 0; index < hashCount; index++) {
+                int bit = ((first + index * second) & Integer.MAX_VALUE) % bitCount;
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long value;
+                while (((value = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                    // Another thread changed the word, read it again.
+                }
+            }
+            return ++insertions <= capacity;
+        }
+
+        private boolean mightContain(String link) {
+            int first = link.hashCode();
+            int second = mix(first);
+            for (int index = 0; index < hashCount; index++) {
+                int bit = ((first + index * second) & Integer.MAX_VALUE) % bitCount;
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0)
+                    return false;
+            }
+            return true;
+        }
+
+        private static int mix(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x85ebca6b;
+            hash ^= hash >>> 13;
+            hash *= 0xc2b2ae35;
+            hash ^= hash >>> 16;
+            return hash | 1;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package de.ra.coc.ServerConnection;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is a thread-safe token-bucket rate limiter for the requests of a single JSON Web Token.
+ * Every request sent by {@link de.ra.coc.ServerConnection.HttpConnection} takes one permit of the limiter of its
+ * token. If no permit is available, the request waits until the next permit is refilled, so the requests leave the
+ * JVM at the configured rate instead of being rejected by the Clash of Clan server with the status code 429.
+ * <p>
+ * By default the requests are not limited. Use {@link #setDefaultRate(double, int)} to limit all the tokens or
+ * {@link #setRate(String, double, int)} to limit a single token.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class RateLimiter {
+    private static final ConcurrentMap<String, RateLimiter> LIMITERS = new ConcurrentHashMap<>();
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static volatile double defaultPermitsPerSecond = 0;
+    private static volatile int defaultBurst = 1;
+
+    private double permitsPerSecond;
+    private int burst;
+    private boolean ownRate;
+    private double storedPermits;
+    private long lastRefill;
+    private long acquiredPermits;
+    private long delayedPermits;
+    private long totalWaitNanos;
+
+    /**
+     * Constructs the RateLimiter that allows the given number of requests per second.
+     *
+     * @param permitsPerSecond Number of requests per second. 0 means no limit.
+     * @param burst            Maximum number of requests that are sent at once after the limiter is idle.
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        changeRate(permitsPerSecond, burst);
+        this.storedPermits = this.burst;
+    }
+
+    /**
+     * This method returns the rate limiter of the given JSON Web Token. If the token does not have a limiter yet,
+     * then a limiter with the default rate is created.
+     *
+     * @param JWTOKEN JSON Web Token.
+     * @return Rate limiter of the given token.
+     */
+    public static RateLimiter forToken(String JWTOKEN) {
+        RateLimiter limiter = LIMITERS.get(JWTOKEN);
+        if (limiter == null) {
+            limiter = LIMITERS.computeIfAbsent(JWTOKEN, token -> new RateLimiter(defaultPermitsPerSecond, defaultBurst));
+        }
+        return limiter;
+    }
+
+    /**
+     * This method sets the rate of the given JSON Web Token.
+     *
+     * @param JWTOKEN          JSON Web Token.
+     * @param permitsPerSecond Number of requests per second. 0 means no limit.
+     * @param burst            Maximum number of requests that are sent at once after the limiter is idle.
+     */
+    public static void setRate(String JWTOKEN, double permitsPerSecond, int burst) {
+        forToken(JWTOKEN).setRate(permitsPerSecond, burst);
+    }
+
+    /**
+     * This method sets the rate of all the JSON Web Tokens that do not have their own rate.
+     * The rate of the tokens that are already used is changed as well, except the tokens whose rate is set with
+     * {@link #setRate(String, double, int)} or {@link #setRate(double, int)}.
+     *
+     * @param permitsPerSecond Number of requests per second. 0 means no limit.
+     * @param burst            Maximum number of requests that are sent at once after the limiter is idle.
+     */
+    public static void setDefaultRate(double permitsPerSecond, int burst) {
+        defaultPermitsPerSecond = permitsPerSecond;
+        defaultBurst = burst;
+        for (RateLimiter limiter : LIMITERS.values())
+            limiter.applyDefaultRate(permitsPerSecond, burst);
+    }
+
+    private synchronized void applyDefaultRate(double permitsPerSecond, int burst) {
+        if (!ownRate)
+            changeRate(permitsPerSecond, burst);
+    }
+
+    /**
+     * This method changes the rate of this limiter. The rate is kept when the default rate is changed.
+     *
+     * @param permitsPerSecond Number of requests per second. 0 means no limit.
+     * @param burst            Maximum number of requests that are sent at once after the limiter is idle.
+     * @throws IllegalArgumentException If the rate is negative or the burst is less than 1.
+     */
+    public synchronized void setRate(double permitsPerSecond, int burst) {
+        changeRate(permitsPerSecond, burst);
+        ownRate = true;
+    }
+
+    private synchronized void changeRate(double permitsPerSecond, int burst) {
+        if (permitsPerSecond < 0 || Double.isNaN(permitsPerSecond))
+            throw new IllegalArgumentException("Rate must not be negative");
+
+        if (burst < 1)
+            throw new IllegalArgumentException("Burst must be at least 1");
+
+        refill(System.nanoTime());
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.storedPermits = Math.min(storedPermits, burst);
+    }
+
+    /**
+     * This method takes one permit and waits until the permit is available.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0)
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+
+    /**
+     * This method takes one permit if it is available without waiting.
+     *
+     * @return true if the permit is taken, false otherwise.
+     */
+    public synchronized boolean tryAcquire() {
+        if (permitsPerSecond == 0) {
+            acquiredPermits++;
+            return true;
+        }
+
+        refill(System.nanoTime());
+        if (storedPermits < 1)
+            return false;
+
+        storedPermits -= 1;
+        acquiredPermits++;
+        return true;
+    }
+
+    private synchronized long reserve() {
+        acquiredPermits++;
+        if (permitsPerSecond == 0)
+            return 0;
+
+        refill(System.nanoTime());
+        long waitNanos = storedPermits >= 1 ? 0 : (long) ((1 - storedPermits) * NANOS_PER_SECOND / permitsPerSecond);
+        storedPermits -= 1;
+
+        if (waitNanos > 0) {
+            delayedPermits++;
+            totalWaitNanos += waitNanos;
+        }
+        return waitNanos;
+    }
+
+    private void refill(long now) {
+        if (permitsPerSecond > 0)
+            storedPermits = Math.min(burst, storedPermits + (now - lastRefill) * permitsPerSecond / NANOS_PER_SECOND);
+        lastRefill = now;
+    }
+
+    /**
+     * This method returns the number of permits that can be taken without waiting.
+     *
+     * @return Number of available permits. If the limiter has no limit, then this method returns
+     * {@link Integer#MAX_VALUE}.
+     */
+    public synchronized int getAvailablePermits() {
+        if (permitsPerSecond == 0)
+            return Integer.MAX_VALUE;
+
+        refill(System.nanoTime());
+        return (int) Math.max(0, Math.floor(storedPermits));
+    }
+
+    /**
+     * This method returns the time a request has to wait if it is sent now.
+     *
+     * @param unit Unit of the returned time.
+     * @return Time to wait for the next permit.
+     */
+    public synchronized long getEstimatedWait(TimeUnit unit) {
+        if (permitsPerSecond == 0)
+            return 0;
+
+        refill(System.nanoTime());
+        return storedPermits >= 1 ? 0 :
+                unit.convert((long) ((1 - storedPermits) * NANOS_PER_SECOND / permitsPerSecond), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * This method returns the number of requests per second of this limiter.
+     *
+     * @return Number of requests per second. 0 means no limit.
+     */
+    public synchronized double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * This method returns the number of permits taken from this limiter.
+     *
+     * @return Number of permits taken.
+     */
+    public synchronized long getAcquiredPermits() {
+        return acquiredPermits;
+    }
+
+    /**
+     * This method returns the number of permits that had to wait.
+     *
+     * @return Number of delayed permits.
+     */
+    public synchronized long getDelayedPermits() {
+        return delayedPermits;
+    }
+
+    /**
+     * This method returns the total time all the requests waited for their permits.
+     *
+     * @param unit Unit of the returned time.
+     * @return Total wait time.
+     */
+    public synchronized long getTotalWait(TimeUnit unit) {
+        return unit.convert(totalWaitNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,65 @@
+package de.ra.coc.ServerConnection;
+
+import org.json.JSONObject;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This interface is a cache of the responses of the Clash of Clan server. If a cache is set with
+ * {@link de.ra.coc.ServerConnection.HttpConnection#setResponseCache(ResponseCache)}, then every request first looks
+ * up its link in the cache and only goes to the server if the response is not cached or not fresh anymore. A
+ * response that is not fresh is revalidated with its entity tag, see {@link de.ra.coc.ServerConnection.CachedResponse}.
+ * <p>
+ * The cached responses are shared by all the threads, so the implementations must be thread-safe and the callers
+ * must not modify the returned JSONObject.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public interface ResponseCache {
+    /**
+     * This method returns the cached response of the given link. The returned response may not be fresh anymore,
+     * see {@link de.ra.coc.ServerConnection.CachedResponse#isFresh()}.
+     *
+     * @param link Complete link of the request.
+     * @return Cached response or null if the response is not cached.
+     */
+    CachedResponse get(String link);
+
+    /**
+     * This method caches the response of the given link.
+     *
+     * @param link     Complete link of the request.
+     * @param response Response of the Clash of Clan server.
+     * @param eTag     Entity tag of the response or null if the server did not send one.
+     * @param maxAge   Time the response is fresh according to the Cache-Control header of the server or -1 if the
+     *                 server did not send one.
+     * @param unit     Unit of the maximum age.
+     */
+    void put(String link, JSONObject response, String eTag, long maxAge, TimeUnit unit);
+
+    /**
+     * This method removes the cached response of the given link.
+     *
+     * @param link Complete link of the request.
+     */
+    void invalidate(String link);
+
+    /**
+     * This method removes all the cached responses.
+     */
+    void clear();
+
+    /**
+     * This method returns the number of requests answered from the cache without asking the server.
+     *
+     * @return Number of cache hits.
+     */
+    long getHitCount();
+
+    /**
+     * This method returns the number of requests that were not cached or not fresh anymore.
+     *
+     * @return Number of cache misses.
+     */
+    long getMissCount();
+}
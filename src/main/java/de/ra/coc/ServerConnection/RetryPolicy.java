@@ -0,0 +1,94 @@
+package de.ra.coc.ServerConnection;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class describes how {@link de.ra.coc.ServerConnection.HttpConnection} retries a failed request.
+ * A request is retried if no response is received or the server answers with the status code 429, 500, 502, 503
+ * or 504. The wait time before a retry grows exponentially with a random jitter. If the server sends the
+ * Retry-After header, then the request is not retried before that time, and it is not retried at all if that time
+ * is longer than the maximum backoff.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class RetryPolicy {
+    /**
+     * Retry policy that sends every request only once.
+     */
+    public static final RetryPolicy NO_RETRY = new RetryPolicy(1, 0, 0, TimeUnit.MILLISECONDS);
+
+    /**
+     * Default retry policy with 3 attempts and a backoff from 200 milliseconds up to 10 seconds.
+     */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(3, 200, 10000, TimeUnit.MILLISECONDS);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    /**
+     * Constructs the RetryPolicy.
+     *
+     * @param maxAttempts    Maximum number of attempts of a request, including the first one.
+     * @param initialBackoff Wait time before the first retry.
+     * @param maxBackoff     Maximum wait time before a retry.
+     * @param unit           Unit of the wait times.
+     * @throws IllegalArgumentException If the maximum number of attempts is less than 1 or a wait time is negative.
+     */
+    public RetryPolicy(int maxAttempts, long initialBackoff, long maxBackoff, TimeUnit unit) {
+        if (maxAttempts < 1)
+            throw new IllegalArgumentException("Maximum number of attempts must be at least 1");
+
+        if (initialBackoff < 0 || maxBackoff < initialBackoff)
+            throw new IllegalArgumentException("Backoff must not be negative or greater than the maximum backoff");
+
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = unit.toMillis(initialBackoff);
+        this.maxBackoffMillis = unit.toMillis(maxBackoff);
+    }
+
+    /**
+     * This method returns whether a request that failed with the given status code is retried.
+     *
+     * @param statusCode Status code from the Clash of Clan server, or -1 if no response is received.
+     * @return true if the request is retried, false otherwise.
+     */
+    public boolean isRetryable(int statusCode) {
+        return statusCode == -1 || statusCode == 429 || statusCode == 500 || statusCode == 502 ||
+                statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * This method returns the wait time before the next attempt.
+     *
+     * @param attempt    Number of the failed attempt, starting with 1.
+     * @param retryAfter Value of the Retry-After header in seconds, or -1 if the server did not send it.
+     * @return Wait time in milliseconds, or -1 if the request must not be retried.
+     */
+    public long getBackoffMillis(int attempt, long retryAfter) {
+        if (attempt >= maxAttempts)
+            return -1;
+
+        long backoff = initialBackoffMillis << Math.min(attempt - 1, 30);
+        backoff = Math.min(maxBackoffMillis, backoff);
+        backoff = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+
+        if (retryAfter >= 0) {
+            long retryAfterMillis = TimeUnit.SECONDS.toMillis(retryAfter);
+            if (retryAfterMillis > maxBackoffMillis)
+                return -1;
+            backoff = Math.max(backoff, retryAfterMillis);
+        }
+        return backoff;
+    }
+
+    /**
+     * This method returns the maximum number of attempts of a request.
+     *
+     * @return Maximum number of attempts, including the first one.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+}
@@ -0,0 +1,524 @@
+package de.ra.coc.ServerConnection;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.ra.coc.COCData.Unit;
+import de.ra.coc.COCTag;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a local HTTP server that answers the requests of the Clash of Clan API with generated payloads, so
+ * the library can be tested and benchmarked without network access and without a JSON Web Token. Use
+ * {@link #getBaseLink()} with {@link de.ra.coc.ServerConnection.HttpTransport} to send the requests to this server.
+ * <p>
+ * By default the server answers the players, clans, clan members and clan search endpoints. The payloads are
+ * generated from the requested tag, so the same tag always returns the same payload. The latency of the answers and
+ * the share of requests that are answered with an error, for example 429 or 503, can be configured. The random
+ * latencies and errors are drawn from a random generator with a fixed seed, so a run can be repeated.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class StubServer implements AutoCloseable {
+    /**
+     * API version in the links of this server.
+     */
+    public static final String API_PATH = "/v1";
+
+    /**
+     * This interface generates the payload of a request.
+     */
+    public interface PayloadGenerator {
+        /**
+         * This method generates the payload of the given request.
+         *
+         * @param path  Path of the request after the API version, not decoded. Example: /players/%232PP
+         * @param query Query of the request, not decoded, or null if the request has no query.
+         * @return Payload in JSON format or null to answer with the status code 404.
+         */
+        String generate(String path, String query);
+    }
+
+    private static final AtomicInteger SERVER_COUNT = new AtomicInteger();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ConcurrentSkipListMap<String, PayloadGenerator> routes = new ConcurrentSkipListMap<>();
+    private final Random random = new Random(0);
+    private final AtomicInteger forcedFailures = new AtomicInteger();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private volatile int forcedStatusCode;
+    private volatile long minLatencyNanos;
+    private volatile long maxLatencyNanos;
+    private volatile double tooManyRequestsRate;
+    private volatile double serviceUnavailableRate;
+    private volatile long retryAfter = -1;
+
+    /**
+     * Constructs the StubServer on a free port of the loopback address with the default payloads. The server is
+     * started by {@link #start()}.
+     *
+     * @throws IOException If the server can not be bound.
+     */
+    public StubServer() throws IOException {
+        this(0);
+    }
+
+    /**
+     * Constructs the StubServer on the given port of the loopback address with the default payloads. The server is
+     * started by {@link #start()}.
+     *
+     * @param port Port of the server. 0 means a free port.
+     * @throws IOException If the server can not be bound.
+     */
+    public StubServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        int serverNumber = SERVER_COUNT.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "clanJW-stub-" + serverNumber + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+
+        route("/players/", players(Unit.of(Unit.Category.TROOP).size()));
+        route("/clans/", clans(50));
+        route("/clans", clanSearch(5));
+    }
+
+    /**
+     * This method starts the server.
+     *
+     * @return returns the StubServer.
+     */
+    public StubServer start() {
+        server.start();
+        return this;
+    }
+
+    /**
+     * This method stops the server immediately.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * This method returns the link of the API of this server to be used with
+     * {@link de.ra.coc.ServerConnection.HttpTransport}.
+     *
+     * @return Base link. Example: http://127.0.0.1:53124/v1
+     */
+    public String getBaseLink() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + API_PATH;
+    }
+
+    /**
+     * This method sets the generator of the payloads of all the paths that start with the given prefix. The
+     * generator of the longest matching prefix is used.
+     *
+     * @param pathPrefix Prefix of the path after the API version. Example: /players/
+     * @param generator  Generator of the payloads.
+     * @return returns the StubServer.
+     */
+    public StubServer route(String pathPrefix, PayloadGenerator generator) {
+        routes.put(pathPrefix, generator);
+        return this;
+    }
+
+    /**
+     * This method sets the time the server waits before every answer. The latency of every answer is drawn
+     * uniformly between the minimum and the maximum latency.
+     *
+     * @param minLatency Minimum latency.
+     * @param maxLatency Maximum latency.
+     * @param unit       Unit of the latencies.
+     * @return returns the StubServer.
+     * @throws IllegalArgumentException If a latency is negative or the minimum is greater than the maximum.
+     */
+    public StubServer setLatency(long minLatency, long maxLatency, TimeUnit unit) {
+        if (minLatency < 0 || maxLatency < minLatency)
+            throw new IllegalArgumentException("Latency must not be negative and the minimum must not exceed the maximum");
+
+        minLatencyNanos = unit.toNanos(minLatency);
+        maxLatencyNanos = unit.toNanos(maxLatency);
+        return this;
+    }
+
+    /**
+     * This method sets the share of the requests that are answered with the given error status code.
+     *
+     * @param statusCode Status code of the error, 429 or 503.
+     * @param rate       Share of the requests between 0 and 1.
+     * @return returns the StubServer.
+     * @throws IllegalArgumentException If the status code is not 429 or 503 or the rate is not between 0 and 1.
+     */
+    public StubServer setErrorRate(int statusCode, double rate) {
+        if (rate < 0 || rate > 1)
+            throw new IllegalArgumentException("Rate must be between 0 and 1");
+
+        if (statusCode == 429)
+            tooManyRequestsRate = rate;
+        else if (statusCode == 503)
+            serviceUnavailableRate = rate;
+        else
+            throw new IllegalArgumentException("Only the status codes 429 and 503 are supported");
+        return this;
+    }
+
+    /**
+     * This method answers the next requests with the given status code, before the error rates are applied.
+     *
+     * @param statusCode Status code of the answers.
+     * @param count      Number of requests answered with the status code.
+     * @return returns the StubServer.
+     */
+    public StubServer failNext(int statusCode, int count) {
+        forcedStatusCode = statusCode;
+        forcedFailures.set(count);
+        return this;
+    }
+
+    /**
+     * This method sets the Retry-After header of the error answers.
+     *
+     * @param seconds Value of the header in seconds. -1 means that the header is not sent.
+     * @return returns the StubServer.
+     */
+    public StubServer setRetryAfter(long seconds) {
+        retryAfter = seconds;
+        return this;
+    }
+
+    /**
+     * This method sets the seed of the random generator of the latencies and errors.
+     *
+     * @param seed Seed of the random generator.
+     * @return returns the StubServer.
+     */
+    public StubServer setSeed(long seed) {
+        synchronized (random) {
+            random.setSeed(seed);
+        }
+        return this;
+    }
+
+    /**
+     * This method returns the number of requests received by this server.
+     *
+     * @return Number of requests.
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * This method returns the number of requests answered with an injected error.
+     *
+     * @return Number of requests answered with an error.
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * This method returns the generator of player payloads.
+     *
+     * @param troopCount Number of troops of every player, at most the number of known troops.
+     * @return Generator of the players endpoint.
+     */
+    public static PayloadGenerator players(int troopCount) {
+        return (path, query) -> {
+            String tag = getTag(path, "/players/");
+            return tag == null || path.indexOf('/', "/players/".length()) >= 0 ? null : player(tag, troopCount);
+        };
+    }
+
+    /**
+     * This method returns the generator of clan payloads. It answers the clan, its members, its war log and its
+     * current war.
+     *
+     * @param memberCount Number of members of every clan.
+     * @return Generator of the clans endpoint.
+     */
+    public static PayloadGenerator clans(int memberCount) {
+        return (path, query) -> {
+            int end = path.indexOf('/', "/clans/".length());
+            String tag = getTag(end < 0 ? path : path.substring(0, end), "/clans/");
+            if (tag == null)
+                return null;
+
+            String endpoint = end < 0 ? "" : path.substring(end);
+            switch (endpoint) {
+                case "":
+                    return clan(tag, memberCount);
+                case "/members":
+                    return "{\"items\":" + members(tag, memberCount) + "}";
+                case "/warlog":
+                    return "{\"items\":[]}";
+                case "/currentwar":
+                    return "{\"state\":\"notInWar\"}";
+                default:
+                    return null;
+            }
+        };
+    }
+
+    /**
+     * This method returns the generator of the clan search. Every page contains the number of clans given by the
+     * limit of the search, and the pages are linked by after cursors.
+     *
+     * @param pageCount Number of pages of every search.
+     * @return Generator of the clan search endpoint.
+     */
+    public static PayloadGenerator clanSearch(int pageCount) {
+        return (path, query) -> {
+            if (!path.equals("/clans"))
+                return null;
+
+            int limit = 20;
+            int page = 0;
+            for (String parameter : query == null ? new String[0] : query.split("&")) {
+                if (parameter.startsWith("limit="))
+                    limit = parseInt(parameter.substring("limit=".length()), limit);
+                else if (parameter.startsWith("after="))
+                    page = parseInt(parameter.substring("after=".length()), page);
+            }
+
+            StringBuilder payload = new StringBuilder(limit * 160 + 64).append("{\"items\":[");
+            for (int index = 0; index < limit && page < pageCount; index++) {
+                if (index > 0)
+                    payload.append(',');
+                String tag = tagOf(page * (long) limit + index + 1);
+                payload.append("{\"tag\":").append(JSONObject.quote(tag))
+                        .append(",\"name\":").append(JSONObject.quote("Clan " + tag))
+                        .append(",\"type\":\"open\",\"clanLevel\":").append(level(tag, 1, 20))
+                        .append(",\"clanPoints\":").append(level(tag, 1000, 50000))
+                        .append(",\"members\":").append(level(tag, 1, 50))
+                        .append(",\"warFrequency\":\"always\",\"isWarLogPublic\":true}");
+            }
+            payload.append("],\"paging\":{\"cursors\":{");
+            if (page + 1 < pageCount)
+                payload.append("\"after\":\"").append(page + 1).append('"');
+            return payload.append("}}}").toString();
+        };
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            waitLatency();
+
+            int statusCode = getInjectedStatusCode();
+            if (statusCode != 0) {
+                errorCount.incrementAndGet();
+                if (retryAfter >= 0)
+                    exchange.getResponseHeaders().set("Retry-After", Long.toString(retryAfter));
+                String reason = statusCode == 429 ? "requestThrottled" : statusCode == 503 ? "inMaintenance" : "unknownException";
+                send(exchange, statusCode, "{\"reason\":\"" + reason + "\",\"message\":\"Injected by StubServer\"}");
+                return;
+            }
+
+            String path = exchange.getRequestURI().getRawPath();
+            String payload = null;
+            if (path.startsWith(API_PATH + "/")) {
+                path = path.substring(API_PATH.length());
+                PayloadGenerator generator = getGenerator(path);
+                payload = generator == null ? null : generator.generate(path, exchange.getRequestURI().getRawQuery());
+            }
+
+            if (payload == null)
+                send(exchange, 404, "{\"reason\":\"notFound\",\"message\":\"Not found\"}");
+            else
+                send(exchange, 200, payload);
+        } catch (RuntimeException e) {
+            send(exchange, 500, "{\"reason\":\"unknownException\",\"message\":" + JSONObject.quote(String.valueOf(e)) + "}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private PayloadGenerator getGenerator(String path) {
+        for (Map.Entry<String, PayloadGenerator> route : routes.descendingMap().entrySet()) {
+            if (path.startsWith(route.getKey()))
+                return route.getValue();
+        }
+        return null;
+    }
+
+    private void waitLatency() {
+        long latency = minLatencyNanos;
+        long spread = maxLatencyNanos - latency;
+        if (spread > 0) {
+            synchronized (random) {
+                latency += (long) (random.nextDouble() * spread);
+            }
+        }
+
+        if (latency > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private int getInjectedStatusCode() {
+        if (forcedFailures.get() > 0 && forcedFailures.getAndDecrement() > 0)
+            return forcedStatusCode;
+
+        double tooManyRequests = tooManyRequestsRate;
+        double serviceUnavailable = serviceUnavailableRate;
+        if (tooManyRequests == 0 && serviceUnavailable == 0)
+            return 0;
+
+        double value;
+        synchronized (random) {
+            value = random.nextDouble();
+        }
+        if (value < tooManyRequests)
+            return 429;
+        return value < tooManyRequests + serviceUnavailable ? 503 : 0;
+    }
+
+    private static void send(HttpExchange exchange, int statusCode, String payload) throws IOException {
+        byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static String getTag(String path, String prefix) {
+        if (!path.startsWith(prefix))
+            return null;
+
+        try {
+            return COCTag.normalize(URLDecoder.decode(path.substring(prefix.length()), "UTF-8"));
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String player(String tag, int troopCount) {
+        StringBuilder payload = new StringBuilder(2048 + troopCount * 96);
+        payload.append("{\"tag\":").append(JSONObject.quote(tag))
+                .append(",\"name\":").append(JSONObject.quote("Player " + tag))
+                .append(",\"townHallLevel\":").append(level(tag, 1, 13))
+                .append(",\"expLevel\":").append(level(tag, 1, 250))
+                .append(",\"trophies\":").append(level(tag, 0, 5000))
+                .append(",\"bestTrophies\":").append(level(tag, 0, 6000))
+                .append(",\"warStars\":").append(level(tag, 0, 2000))
+                .append(",\"attackWins\":").append(level(tag, 0, 500))
+                .append(",\"defenseWins\":").append(level(tag, 0, 100))
+                .append(",\"builderHallLevel\":").append(level(tag, 1, 9))
+                .append(",\"versusTrophies\":").append(level(tag, 0, 5000))
+                .append(",\"bestVersusTrophies\":").append(level(tag, 0, 5500))
+                .append(",\"versusBattleWinCount\":").append(level(tag, 0, 3000))
+                .append(",\"role\":\"member\",\"donations\":").append(level(tag, 0, 5000))
+                .append(",\"donationsReceived\":").append(level(tag, 0, 5000))
+                .append(",\"clan\":{\"tag\":\"#2PP\",\"name\":\"Stub Clan\",\"clanLevel\":10,\"badgeUrls\":{")
+                .append("\"small\":\"https://stub/small.png\",\"large\":\"https://stub/large.png\",")
+                .append("\"medium\":\"https://stub/medium.png\"}}")
+                .append(",\"league\":{\"id\":29000010,\"name\":\"Crystal League I\",\"iconUrls\":{")
+                .append("\"small\":\"https://stub/small.png\",\"tiny\":\"https://stub/tiny.png\",")
+                .append("\"medium\":\"https://stub/medium.png\"}}");
+
+        appendUnits(payload, "troops", Unit.Category.TROOP, tag, troopCount);
+        appendUnits(payload, "spells", Unit.Category.SPELL, tag, Integer.MAX_VALUE);
+        appendUnits(payload, "heroes", Unit.Category.HERO, tag, Integer.MAX_VALUE);
+        return payload.append('}').toString();
+    }
+
+    private static void appendUnits(StringBuilder payload, String key, Unit.Category category, String tag, int count) {
+        payload.append(",\"").append(key).append("\":[");
+        int index = 0;
+        for (Unit unit : Unit.of(category)) {
+            if (index >= count)
+                break;
+            if (index++ > 0)
+                payload.append(',');
+
+            int maxLevel = 5 + Math.abs(unit.getName().hashCode() % 6);
+            payload.append("{\"name\":").append(JSONObject.quote(unit.getName()))
+                    .append(",\"level\":").append(level(tag + unit.getName(), 1, maxLevel))
+                    .append(",\"maxLevel\":").append(maxLevel)
+                    .append(",\"village\":\"").append(unit.getVillage().getKey()).append("\"}");
+        }
+        payload.append(']');
+    }
+
+    private static String clan(String tag, int memberCount) {
+        return "{\"tag\":" + JSONObject.quote(tag) + ",\"name\":" + JSONObject.quote("Clan " + tag) +
+                ",\"type\":\"open\",\"description\":\"Generated by StubServer\",\"clanLevel\":" + level(tag, 1, 20) +
+                ",\"clanPoints\":" + level(tag, 1000, 50000) + ",\"clanVersusPoints\":" + level(tag, 1000, 50000) +
+                ",\"requiredTrophies\":1000,\"warFrequency\":\"always\",\"warWinStreak\":" + level(tag, 0, 20) +
+                ",\"warWins\":" + level(tag, 0, 500) + ",\"warTies\":" + level(tag, 0, 50) +
+                ",\"warLosses\":" + level(tag, 0, 200) + ",\"isWarLogPublic\":true,\"members\":" + memberCount +
+                ",\"badgeUrls\":{\"small\":\"https://stub/small.png\",\"large\":\"https://stub/large.png\"," +
+                "\"medium\":\"https://stub/medium.png\"},\"memberList\":" + members(tag, memberCount) + "}";
+    }
+
+    private static String members(String clanTag, int memberCount) {
+        StringBuilder members = new StringBuilder(memberCount * 200 + 2).append('[');
+        long seed = Math.abs((long) clanTag.hashCode()) * 64;
+        for (int index = 0; index < memberCount; index++) {
+            if (index > 0)
+                members.append(',');
+            String tag = tagOf(seed + index + 1);
+            members.append("{\"tag\":").append(JSONObject.quote(tag))
+                    .append(",\"name\":").append(JSONObject.quote("Player " + tag))
+                    .append(",\"role\":\"").append(index == 0 ? "leader" : index < 3 ? "coLeader" : "member")
+                    .append("\",\"expLevel\":").append(level(tag, 1, 250))
+                    .append(",\"trophies\":").append(level(tag, 0, 5000))
+                    .append(",\"versusTrophies\":").append(level(tag, 0, 5000))
+                    .append(",\"clanRank\":").append(index + 1)
+                    .append(",\"previousClanRank\":").append(index + 1)
+                    .append(",\"donations\":").append(level(tag, 0, 5000))
+                    .append(",\"donationsReceived\":").append(level(tag, 0, 5000)).append('}');
+        }
+        return members.append(']').toString();
+    }
+
+    private static String tagOf(long number) {
+        StringBuilder tag = new StringBuilder("#");
+        do {
+            tag.append(COCTag.ALPHABET.charAt((int) (number % COCTag.ALPHABET.length())));
+            number /= COCTag.ALPHABET.length();
+        } while (number > 0);
+        return tag.toString();
+    }
+
+    private static int level(String seed, int min, int max) {
+        return min + Math.abs(seed.hashCode() % (max - min + 1));
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package de.ra.coc.ServerConnection;
+
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class represents a pool of JSON Web Tokens that are used to connect to the Clash of Clan server.
+ * Every request takes one token of the pool, so the requests are spread across all the tokens and the
+ * throughput grows with the number of tokens. A token that is throttled by the server with the status code 429 or
+ * whose key is rejected with the status code 403 is removed from the rotation for the suspension time.
+ * To get the JSON Web Token see <a href="https://developer.clashofclans.com/">https://developer.clashofclans.com/</a>
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class TokenPool {
+    /**
+     * Default time in milliseconds a rejected token is removed from the rotation.
+     */
+    public static final long DEFAULT_SUSPENSION_TIME = 60000;
+
+    /**
+     * Strategy to select the token for the next request.
+     */
+    public enum Strategy {
+        /**
+         * Selects the token that is not used for the longest time.
+         */
+        LEAST_RECENTLY_USED,
+
+        /**
+         * Selects the token with the most available permits of its
+         * {@link de.ra.coc.ServerConnection.RateLimiter}.
+         */
+        MOST_REMAINING_QUOTA
+    }
+
+    private static final ConcurrentMap<String, TokenPool> SINGLE_TOKEN_POOLS = new ConcurrentHashMap<>();
+
+    private final Map<String, TokenState> tokens = new LinkedHashMap<>();
+    private final Strategy strategy;
+    private volatile long suspensionTime = DEFAULT_SUSPENSION_TIME;
+    private long useCount;
+
+    /**
+     * Constructs the TokenPool with the given JSON Web Tokens that selects the least recently used token.
+     *
+     * @param JWTokens JSON Web Tokens.
+     */
+    public TokenPool(String... JWTokens) {
+        this(Strategy.LEAST_RECENTLY_USED, Arrays.asList(JWTokens));
+    }
+
+    /**
+     * Constructs the TokenPool with the given JSON Web Tokens that selects the tokens with the given strategy.
+     *
+     * @param strategy Strategy to select the token for the next request.
+     * @param JWTokens JSON Web Tokens.
+     * @throws IllegalArgumentException If no token is given.
+     */
+    public TokenPool(Strategy strategy, Collection<String> JWTokens) {
+        if (JWTokens.isEmpty())
+            throw new IllegalArgumentException("Token pool requires at least one token");
+
+        this.strategy = strategy;
+        for (String token : JWTokens)
+            tokens.put(token, new TokenState());
+    }
+
+    /**
+     * This method returns the shared pool that contains only the given JSON Web Token.
+     *
+     * @param JWTOKEN JSON Web Token.
+     * @return Pool of the given token.
+     */
+    public static TokenPool of(String JWTOKEN) {
+        TokenPool pool = SINGLE_TOKEN_POOLS.get(JWTOKEN);
+        if (pool == null)
+            pool = SINGLE_TOKEN_POOLS.computeIfAbsent(JWTOKEN, TokenPool::new);
+        return pool;
+    }
+
+    /**
+     * This method selects the token for the next request. If all the tokens are suspended, then this method
+     * selects the token whose suspension ends first.
+     *
+     * @return JSON Web Token.
+     */
+    public synchronized String acquire() {
+        long now = System.nanoTime();
+        String selected = null;
+        TokenState selectedState = null;
+        int selectedPermits = -1;
+
+        for (Map.Entry<String, TokenState> entry : tokens.entrySet()) {
+            TokenState state = entry.getValue();
+            if (state.isSuspended(now))
+                continue;
+
+            int permits = strategy == Strategy.MOST_REMAINING_QUOTA ?
+                    RateLimiter.forToken(entry.getKey()).getAvailablePermits() : 0;
+
+            if (selected == null || permits > selectedPermits ||
+                    (permits == selectedPermits && state.lastUse < selectedState.lastUse)) {
+                selected = entry.getKey();
+                selectedState = state;
+                selectedPermits = permits;
+            }
+        }
+
+        if (selected == null) {
+            for (Map.Entry<String, TokenState> entry : tokens.entrySet()) {
+                if (selected == null || entry.getValue().suspendedUntil - selectedState.suspendedUntil < 0) {
+                    selected = entry.getKey();
+                    selectedState = entry.getValue();
+                }
+            }
+        }
+
+        selectedState.lastUse = ++useCount;
+        return selected;
+    }
+
+    /**
+     * This method removes the given token from the rotation for the suspension time of this pool.
+     *
+     * @param JWTOKEN JSON Web Token.
+     */
+    public void suspend(String JWTOKEN) {
+        suspend(JWTOKEN, suspensionTime, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method removes the given token from the rotation for the given time.
+     *
+     * @param JWTOKEN  JSON Web Token.
+     * @param duration Time the token is removed from the rotation.
+     * @param unit     Unit of the duration.
+     */
+    public synchronized void suspend(String JWTOKEN, long duration, TimeUnit unit) {
+        TokenState state = tokens.get(JWTOKEN);
+        if (state != null)
+            state.suspendedUntil = System.nanoTime() + unit.toNanos(duration);
+    }
+
+    /**
+     * This method returns whether the given failure removes a token from the rotation. The server throttles a token
+     * with the status code 429 and rejects the key of a token with the status code 403 and a reason like
+     * accessDenied.invalidIp. The plain reason accessDenied is also answered for a request the token is allowed to
+     * send, for example the current war of a clan with a private war log, so it does not remove the token.
+     *
+     * @param e Failure of a request sent with the token.
+     * @return true if the token is throttled or its key is rejected, false otherwise.
+     */
+    public static boolean isRejection(COCServerConnectionException e) {
+        if (e.getStatusCode() == 429)
+            return true;
+
+        String reason = e.getReason();
+        return e.getStatusCode() == 403 && reason != null && reason.startsWith("accessDenied.");
+    }
+
+    /**
+     * This method sets the time a rejected token is removed from the rotation.
+     *
+     * @param duration Time the token is removed from the rotation.
+     * @param unit     Unit of the duration.
+     */
+    public void setSuspensionTime(long duration, TimeUnit unit) {
+        suspensionTime = unit.toMillis(duration);
+    }
+
+    /**
+     * This method returns the number of tokens in this pool.
+     *
+     * @return Number of tokens.
+     */
+    public synchronized int size() {
+        return tokens.size();
+    }
+
+    /**
+     * This method returns the tokens that are currently in the rotation.
+     *
+     * @return Tokens that are not suspended.
+     */
+    public synchronized List<String> getActiveTokens() {
+        long now = System.nanoTime();
+        List<String> active = new ArrayList<>();
+        for (Map.Entry<String, TokenState> entry : tokens.entrySet()) {
+            if (!entry.getValue().isSuspended(now))
+                active.add(entry.getKey());
+        }
+        return Collections.unmodifiableList(active);
+    }
+
+    /**
+     * This method returns the strategy to select the token for the next request.
+     *
+     * @return Strategy of this pool.
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    private static class TokenState {
+        private long lastUse;
+        private long suspendedUntil = System.nanoTime();
+
+        private boolean isSuspended(long now) {
+            return suspendedUntil - now > 0;
+        }
+    }
+}
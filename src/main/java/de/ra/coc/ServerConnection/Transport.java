@@ -0,0 +1,34 @@
+package de.ra.coc.ServerConnection;
+
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.tagException.InvalidItemTagException;
+import org.json.JSONObject;
+
+/**
+ * This interface sends the requests of {@link de.ra.coc.COCPlayers}, {@link de.ra.coc.Clan.Clan} and
+ * {@link de.ra.coc.Clan.ClanSearch} to the Clash of Clan API. The default transport is
+ * {@link de.ra.coc.ServerConnection.HttpTransport}, which sends the requests to the Clash of Clan server. Another
+ * transport can be used to send the requests to a different server, for example to
+ * {@link de.ra.coc.ServerConnection.StubServer} for tests and benchmarks without network access.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public interface Transport {
+    /**
+     * This method returns the link of the API including the API version, without a trailing slash.
+     *
+     * @return Base link of the API. Example: https://api.clashofclans.com/v1
+     */
+    String getBaseLink();
+
+    /**
+     * This method sends the request of the given link and returns the result in JSONObject format.
+     *
+     * @param link Complete link that starts with the base link of this transport.
+     * @param tag  Tag. It can be Player tag, Clan tag or null.
+     * @return Result of the request in JSONObject format.
+     * @throws COCServerConnectionException If fails to connect to the server.
+     * @throws InvalidItemTagException      If the given tag is not found.
+     */
+    JSONObject get(String link, String tag) throws COCServerConnectionException, InvalidItemTagException;
+}
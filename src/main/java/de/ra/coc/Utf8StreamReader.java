@@ -0,0 +1,151 @@
+package de.ra.coc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes the UTF-8 bytes of an InputStream into characters with buffers that are reused by the same thread.
+ * Marks are supported within the character buffer, so the reader can be passed to a JSONTokener without
+ * being wrapped into another buffered reader.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+final class Utf8StreamReader extends Reader {
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadLocal<Buffers> BUFFERS = new ThreadLocal<Buffers>() {
+        @Override
+        protected Buffers initialValue() {
+            return new Buffers();
+        }
+    };
+
+    private final InputStream input;
+    private final Buffers buffers;
+    private final ByteBuffer bytes;
+    private final CharBuffer chars;
+    private final CharsetDecoder decoder;
+    private boolean endOfInput;
+    private boolean flushed;
+    private int markPosition = -1;
+    private int markLimit;
+
+    Utf8StreamReader(InputStream input) {
+        Buffers pooled = BUFFERS.get();
+        if (pooled.inUse)
+            pooled = new Buffers();
+
+        pooled.inUse = true;
+        this.input = input;
+        this.buffers = pooled;
+        this.bytes = pooled.bytes;
+        this.chars = pooled.chars;
+        this.decoder = pooled.decoder;
+
+        bytes.clear().flip();
+        chars.clear().flip();
+        decoder.reset();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!chars.hasRemaining() && !fill())
+            return -1;
+        return chars.get();
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0)
+            return 0;
+
+        if (!chars.hasRemaining() && !fill())
+            return -1;
+
+        int count = Math.min(length, chars.remaining());
+        chars.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) throws IOException {
+        if (readAheadLimit > chars.capacity() / 2)
+            throw new IOException("Read ahead limit exceeds " + chars.capacity() / 2 + " characters");
+
+        markPosition = chars.position();
+        markLimit = readAheadLimit;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        if (markPosition < 0)
+            throw new IOException("Stream not marked");
+        chars.position(markPosition);
+    }
+
+    private boolean fill() throws IOException {
+        if (flushed)
+            return false;
+
+        int retained = chars.position() - markPosition;
+        if (markPosition >= 0 && retained <= markLimit) {
+            chars.position(markPosition);
+            chars.compact();
+            markPosition = 0;
+        } else {
+            markPosition = -1;
+            chars.clear();
+        }
+        int start = chars.position();
+
+        while (chars.position() == start) {
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            if (result.isOverflow() || chars.position() > start)
+                break;
+
+            if (endOfInput) {
+                decoder.flush(chars);
+                flushed = true;
+                break;
+            }
+
+            bytes.compact();
+            int count = input.read(bytes.array(), bytes.position(), bytes.remaining());
+            if (count < 0)
+                endOfInput = true;
+            else
+                bytes.position(bytes.position() + count);
+            bytes.flip();
+        }
+
+        chars.flip();
+        chars.position(start);
+        return chars.hasRemaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffers.inUse = false;
+        input.close();
+    }
+
+    private static final class Buffers {
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private boolean inUse;
+    }
+}
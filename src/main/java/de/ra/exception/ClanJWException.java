@@ -15,4 +15,16 @@ public class ClanJWException extends Exception {
     public ClanJWException(String message) {
         super(message);
     }
+
+    /**
+     * Constructs a new ClanJWException with the detailed message. If the stack trace is not writable, then the
+     * stack trace is not filled when the exception is created, which makes the exception cheap to create for the
+     * cases that are expected and not errors.
+     *
+     * @param message            Detail message.
+     * @param writableStackTrace true to fill the stack trace, false otherwise.
+     */
+    protected ClanJWException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
@@ -4,7 +4,8 @@ import de.ra.exception.ClanJWException;
 
 /**
  * This class is a throwable exception to indicate that the given item name is not
- * yet unlocked by the player.
+ * yet unlocked by the player. A unit that is not unlocked is a normal state of a player,
+ * so the stack trace is not filled to keep the exception cheap.
  *
  * @author Ranjith Krishnamurthy
  */
@@ -16,6 +17,6 @@ public class ItemNotUnlockedException extends ClanJWException {
      * @param playerName Player name.
      */
     public ItemNotUnlockedException(String itemName, String playerName) {
-        super(itemName + " is not yet unlocked by the player " + playerName);
+        super(itemName + " is not yet unlocked by the player " + playerName, false);
     }
 }
\ No newline at end of file
@@ -9,6 +9,10 @@ import de.ra.exception.ClanJWException;
  * @author Ranjith Krishnamurthy
  */
 public class COCServerConnectionException extends ClanJWException {
+    private final int statusCode;
+    private final String reason;
+    private final long retryAfter;
+
     /**
      * Constructs a new COCServerConnectionException with the detailed message and reason.
      *
@@ -17,9 +21,53 @@ public class COCServerConnectionException extends ClanJWException {
      * @param message    Detail message for connection fail.
      */
     public COCServerConnectionException(int statusCode, String reason, String message) {
+        this(statusCode, reason, message, -1);
+    }
+
+    /**
+     * Constructs a new COCServerConnectionException with the detailed message, reason and the time
+     * the Clash of Clan server asked to wait before the next request.
+     *
+     * @param statusCode Status code from the Clash of Clan server.
+     * @param reason     Reason for the connection fail.
+     * @param message    Detail message for connection fail.
+     * @param retryAfter Value of the Retry-After header in seconds, or -1 if the server did not send it.
+     */
+    public COCServerConnectionException(int statusCode, String reason, String message, long retryAfter) {
         super("Failed to Connect to the Clash of Clans server with +" +
                 statusCode + " status code.\n" +
                 "Reason = " + reason +
                 "\nMessage = " + message);
+        this.statusCode = statusCode;
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * This method returns the status code from the Clash of Clan server.
+     *
+     * @return Status code from the Clash of Clan server. If no response is received from the server, then this
+     * method returns -1.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * This method returns the time the Clash of Clan server asked to wait before the next request.
+     *
+     * @return Value of the Retry-After header in seconds. If the server did not send it, then this method returns -1.
+     */
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * This method returns the reason for the connection fail.
+     *
+     * @return Reason for the connection fail. Example: accessDenied, requestThrottled etc.
+     */
+    public String getReason() {
+        return reason;
     }
 }
@@ -0,0 +1,20 @@
+package de.ra.exception.serverConnectionException;
+
+/**
+ * This class is a throwable exception to indicate that the request is not sent, because the Clash of Clan server
+ * failed too many times in a row and the circuit breaker is open.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class CircuitOpenException extends COCServerConnectionException {
+    /**
+     * Constructs a new CircuitOpenException with the detailed message.
+     *
+     * @param remainingMillis Time in milliseconds until the next request is allowed.
+     */
+    public CircuitOpenException(long remainingMillis) {
+        super(503, "circuitOpen",
+                "Clash of Clans server is unavailable, next request is allowed in " + remainingMillis + " ms",
+                (remainingMillis + 999) / 1000);
+    }
+}
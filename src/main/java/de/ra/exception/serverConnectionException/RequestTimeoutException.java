@@ -0,0 +1,19 @@
+package de.ra.exception.serverConnectionException;
+
+/**
+ * This class is a throwable exception to indicate that the Clash of Clan server did not answer a request
+ * within the given time.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class RequestTimeoutException extends COCServerConnectionException {
+    /**
+     * Constructs a new RequestTimeoutException with the detailed message.
+     *
+     * @param request       Request that is timed out. Example: Player tag, Clan tag etc.
+     * @param timeoutMillis Timeout in milliseconds.
+     */
+    public RequestTimeoutException(String request, long timeoutMillis) {
+        super(408, "requestTimeout", "No response for " + request + " within " + timeoutMillis + " ms");
+    }
+}
@@ -0,0 +1,29 @@
+package de.ra.exception.serverConnectionException;
+
+/**
+ * This class wraps a {@link de.ra.exception.serverConnectionException.COCServerConnectionException} with an
+ * unchecked exception. It is thrown by the iterators and streams that connect to the Clash of Clan server, because
+ * their methods cannot throw checked exceptions.
+ *
+ * @author Ranjith Krishnamurthy
+ */
+public class UncheckedCOCServerConnectionException extends RuntimeException {
+    /**
+     * Constructs a new UncheckedCOCServerConnectionException with the wrapped exception.
+     *
+     * @param cause Failed connection to the Clash of Clan server.
+     */
+    public UncheckedCOCServerConnectionException(COCServerConnectionException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    /**
+     * This method returns the wrapped exception.
+     *
+     * @return Failed connection to the Clash of Clan server.
+     */
+    @Override
+    public synchronized COCServerConnectionException getCause() {
+        return (COCServerConnectionException) super.getCause();
+    }
+}
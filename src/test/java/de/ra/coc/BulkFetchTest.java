@@ -0,0 +1,78 @@
+package de.ra.coc;
+
+import de.ra.exception.tagException.InvalidPlayerTagException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulkFetchTest {
+    @Test
+    public void bulkFetchTest() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        List<String> tags = new ArrayList<>();
+        for (int index = 0; index < 100; index++)
+            tags.add("#TAG" + index);
+        tags.add("#TAG1");
+
+        Map<String, FetchResult<String>> results = new BulkFetch<String>(tags, tag -> {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            executor.execute(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                if (tag.endsWith("7"))
+                    future.completeExceptionally(new InvalidPlayerTagException(tag));
+                else
+                    future.complete(tag.toLowerCase());
+            });
+            return future;
+        }, 3).start().join();
+        executor.shutdown();
+
+        assertEquals(100, results.size());
+        assertEquals(Arrays.asList("#TAG0", "#TAG1", "#TAG2"), new ArrayList<>(results.keySet()).subList(0, 3));
+        assertTrue(maxInFlight.get() <= 3);
+
+        assertTrue(results.get("#TAG5").isSuccess());
+        assertEquals("#tag5", results.get("#TAG5").getValue());
+
+        assertFalse(results.get("#TAG17").isSuccess());
+        assertTrue(results.get("#TAG17").getFailure() instanceof InvalidPlayerTagException);
+    }
+
+    @Test
+    public void normalizedTagsTest() {
+        List<String> requested = new ArrayList<>();
+        Map<String, FetchResult<String>> results = new BulkFetch<String>(Arrays.asList("#2pp", "2PP", "#2PP", "#2PQ"),
+                tag -> {
+                    synchronized (requested) {
+                        requested.add(tag);
+                    }
+                    return CompletableFuture.completedFuture(COCTag.normalize(tag));
+                }, 2).start().join();
+
+        assertEquals(Arrays.asList("#2pp", "#2PQ"), requested);
+        assertEquals(Arrays.asList("#2pp", "2PP", "#2PP", "#2PQ"), new ArrayList<>(results.keySet()));
+        assertEquals("#2PP", results.get("2PP").getValue());
+        assertEquals("#2PP", results.get("#2PP").getValue());
+        assertEquals("#2PQ", results.get("#2PQ").getValue());
+    }
+}
@@ -0,0 +1,181 @@
+package de.ra.coc;
+
+import de.ra.coc.ServerConnection.ConnectionPool;
+import de.ra.coc.ServerConnection.HttpTransport;
+import de.ra.coc.ServerConnection.StubServer;
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.coc.ServerConnection.Transport;
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.serverConnectionException.RequestTimeoutException;
+import de.ra.exception.tagException.InvalidItemTagException;
+import de.ra.exception.tagException.InvalidPlayerTagException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class COCClientTest {
+    private static final String MEMBERS = "[{\"tag\":\"#2P0\",\"name\":\"Leader\",\"role\":\"leader\"}," +
+            "{\"tag\":\"#2P2\",\"name\":\"Unknown\",\"role\":\"member\"}," +
+            "{\"tag\":\"#2P8\",\"name\":\"Maintenance\",\"role\":\"member\"}]";
+
+    private final List<String> links = Collections.synchronizedList(new ArrayList<>());
+    private final Transport transport = new Transport() {
+        @Override
+        public String getBaseLink() {
+            return "http://127.0.0.1/v1";
+        }
+
+        @Override
+        public JSONObject get(String link, String tag) throws COCServerConnectionException, InvalidItemTagException {
+            links.add(link.substring(getBaseLink().length()));
+            try {
+                switch (link.substring(getBaseLink().length())) {
+                    case "/clans/%232PP":
+                        return new JSONObject("{\"tag\":\"#2PP\",\"memberList\":" + MEMBERS + "}");
+                    case "/clans/%232PQ":
+                        return new JSONObject("{\"tag\":\"#2PQ\"}");
+                    case "/clans/%232PQ/members":
+                        return new JSONObject("{\"items\":" + MEMBERS + "}");
+                    case "/players/%232P0":
+                        return new JSONObject("{\"tag\":\"#2P0\",\"name\":\"Leader\"}");
+                    case "/players/%232P8":
+                        throw new COCServerConnectionException(503, "inMaintenance", "maintenance");
+                    default:
+                        throw new InvalidItemTagException(tag);
+                }
+            } catch (JSONException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+
+    private ExecutorService executor;
+    private COCClient client;
+
+    @Before
+    public void setup() {
+        executor = Executors.newSingleThreadExecutor();
+        client = new COCClient("token", executor, 1);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void timeoutInterruptsTaskTest() throws Exception {
+        CountDownLatch returned = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        CompletableFuture<String> future = client.submit(() -> {
+            try {
+                Thread.sleep(10000);
+                return "late";
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                Thread.sleep(100);
+                return "interrupted";
+            } finally {
+                returned.countDown();
+            }
+        }, "#2PP", 50, TimeUnit.MILLISECONDS);
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected RequestTimeoutException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RequestTimeoutException);
+        }
+        assertTrue(interrupted.get());
+        assertEquals(0, returned.getCount());
+
+        // The interrupt of the timed out task does not leak into the next task of the same thread.
+        assertFalse(client.submit(() -> Thread.currentThread().isInterrupted(), "#2PQ", 1, TimeUnit.SECONDS).get());
+    }
+
+    @Test
+    public void timeoutStartsWithTaskTest() throws Exception {
+        CompletableFuture<String> first = client.submit(() -> {
+            Thread.sleep(200);
+            return "first";
+        }, "#2PP", 300, TimeUnit.MILLISECONDS);
+        CompletableFuture<String> second = client.submit(() -> {
+            Thread.sleep(200);
+            return "second";
+        }, "#2PQ", 300, TimeUnit.MILLISECONDS);
+
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("second", second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void timeoutClosesConnectionTest() throws Exception {
+        try (StubServer server = new StubServer().setLatency(3, 3, TimeUnit.SECONDS).start()) {
+            COCClient stubClient = new COCClient(new HttpTransport(new TokenPool("token"), server.getBaseLink()), executor, 1);
+
+            long start = System.nanoTime();
+            FetchResult<COCPlayers> result = stubClient.fetchPlayers(Collections.singletonList("#2PP"), 200,
+                    TimeUnit.MILLISECONDS).get("#2PP");
+
+            // The read of the response is stopped at the deadline, not by the read timeout of the pool.
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+            assertTrue(result.getFailure() instanceof RequestTimeoutException);
+            assertEquals(ConnectionPool.getMaxConnections(), ConnectionPool.getAvailableConnections());
+        }
+    }
+
+    @Test
+    public void hydrateClanTest() throws Exception {
+        COCClient client = new COCClient(transport, executor, 2);
+        HydratedClan clan = client.hydrateClanAsync("#2PP", 5, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+
+        assertFalse(clan.isComplete());
+        assertEquals(3, clan.getMembers().size());
+        assertEquals(Arrays.asList("#2P0", "#2P2", "#2P8"), new ArrayList<>(clan.getPlayers().keySet()));
+        assertNotNull(clan.getPlayer("#2P0"));
+        assertNull(clan.getPlayer("#2P8"));
+
+        Map<String, Throwable> failures = clan.getFailures();
+        assertEquals(Arrays.asList("#2P2", "#2P8"), new ArrayList<>(failures.keySet()));
+        assertTrue(failures.get("#2P2") instanceof InvalidPlayerTagException);
+        assertEquals(503, ((COCServerConnectionException) failures.get("#2P8")).getStatusCode());
+
+        // The member list of the clan's information is used, no request is sent to the members endpoint.
+        assertFalse(links.contains("/clans/%232PP/members"));
+    }
+
+    @Test
+    public void hydrateClanMembersFallbackTest() throws Exception {
+        COCClient client = new COCClient(transport, executor, 2);
+        HydratedClan clan = client.hydrateClan("#2PQ", 5, TimeUnit.SECONDS);
+
+        assertTrue(links.contains("/clans/%232PQ/members"));
+        assertEquals(3, clan.getMembers().size());
+        assertEquals("leader", clan.getMembers().getRole(0));
+        assertEquals(3, clan.getPlayers().size());
+        assertEquals(2, clan.getFailures().size());
+    }
+}
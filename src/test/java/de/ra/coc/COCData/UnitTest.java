@@ -0,0 +1,48 @@
+package de.ra.coc.COCData;
+
+import de.ra.coc.COCData.BuilderBase.Troops;
+import de.ra.coc.COCData.HomeVillage.DarkElixirSpell;
+import de.ra.coc.COCData.HomeVillage.ElixirTroop;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class UnitTest {
+
+    @Test
+    public void looksUpUnitsByName() {
+        assertSame(Unit.ARCHER, Unit.forName(ElixirTroop.ARCHER));
+        assertSame(Unit.BABY_DRAGON, Unit.forName("Baby Dragon"));
+        assertSame(Unit.BAT_SPELL, Unit.forName(Unit.Category.SPELL, DarkElixirSpell.BAT_SPELL));
+        assertNull(Unit.forName(Unit.Category.SPELL, ElixirTroop.ARCHER));
+        assertNull(Unit.forName("Archer Tower"));
+
+        assertTrue(Unit.isUnit(Unit.Category.HERO, Heroes.BATTLE_MACHINE));
+        assertFalse(Unit.isUnit(Unit.Category.TROOP, Heroes.BATTLE_MACHINE));
+    }
+
+    @Test
+    public void groupsUnitsByCategoryVillageAndResource() {
+        assertTrue(Unit.of(Unit.Village.BUILDER_BASE).contains(Unit.BUILDER_BASE_BABY_DRAGON));
+        assertFalse(Unit.of(Unit.Village.BUILDER_BASE).contains(Unit.BABY_DRAGON));
+        assertTrue(Unit.of(Unit.Resource.DARK_ELIXIR).contains(Unit.ARCHER_QUEEN));
+        assertEquals(5, Unit.of(Unit.Category.HERO).size());
+        assertEquals("builderBase", Unit.BUILDER_BASE_BABY_DRAGON.getVillage().getKey());
+    }
+
+    @Test
+    public void catalogListsAreCached() {
+        assertSame(ElixirTroop.getElixirTroopsList(), ElixirTroop.getElixirTroopsList());
+        assertEquals(Arrays.asList(Troops.RAGED_BARBARIAN, Troops.SNEAKY_ARCHER, Troops.BOXER_GIANT,
+                Troops.BETA_MINION, Troops.BOMBER, Troops.BABY_DRAGON, Troops.CANNON_CART, Troops.NIGHT_WITCH,
+                Troops.DROP_SHIP, Troops.SUPER_PEKKA, Troops.HOG_GLIDER), Troops.getBuilderBaseTroopsList());
+        assertEquals(Arrays.asList(Heroes.BARBARIAN_KING, Heroes.ARCHER_QUEEN, Heroes.GRAND_WARDEN,
+                Heroes.ROYAL_CHAMPION, Heroes.BATTLE_MACHINE), Heroes.getHeroesList());
+    }
+}
@@ -0,0 +1,178 @@
+package de.ra.coc;
+
+import de.ra.coc.COCData.UnlockStatus;
+import de.ra.coc.ServerConnection.Transport;
+import de.ra.exception.ClanJWException;
+import de.ra.exception.IllegalNameException.IllegalTroopNameException;
+import de.ra.exception.notUnlockedException.HeroNotUnlockedException;
+import de.ra.exception.notUnlockedException.SpellNotUnlockedException;
+import de.ra.exception.notUnlockedException.TroopNotUnlockedException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class COCPlayersOfflineTest {
+    private static final String PLAYER = "{\"tag\":\"#9PJGGVQ8\",\"name\":\"Ranjith\",\"townHallLevel\":12," +
+            "\"troops\":[{\"name\":\"Barbarian\",\"level\":8,\"maxLevel\":9,\"village\":\"home\"}," +
+            "{\"name\":\"Baby Dragon\",\"level\":6,\"maxLevel\":7,\"village\":\"home\"}," +
+            "{\"name\":\"Raged Barbarian\",\"level\":10,\"maxLevel\":18,\"village\":\"builderBase\"}," +
+            "{\"name\":\"Baby Dragon\",\"level\":12,\"maxLevel\":18,\"village\":\"builderBase\"}]," +
+            "\"spells\":[{\"name\":\"Lightning Spell\",\"level\":7,\"maxLevel\":9,\"village\":\"home\"}]," +
+            "\"heroes\":[{\"name\":\"Barbarian King\",\"level\":60,\"maxLevel\":70,\"village\":\"home\"}]}";
+
+    private static final String OTHER_PLAYER = "{\"tag\":\"#2PP\",\"name\":\"Other\"," +
+            "\"troops\":[{\"name\":\"Archer\",\"level\":3,\"maxLevel\":9,\"village\":\"home\"}]}";
+
+    private final Map<String, String> players = new HashMap<>();
+    private final Transport transport = new Transport() {
+        @Override
+        public String getBaseLink() {
+            return "http://127.0.0.1/v1";
+        }
+
+        @Override
+        public JSONObject get(String link, String tag) {
+            try {
+                return new JSONObject(players.get(tag));
+            } catch (JSONException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+
+    @Before
+    public void setup() {
+        players.put("%239PJGGVQ8", PLAYER);
+        players.put("%232PP", OTHER_PLAYER);
+    }
+
+    @Test
+    public void unitLookupTest() throws ClanJWException, UnsupportedEncodingException, JSONException {
+        COCPlayers player = new COCPlayers(transport, "#9PJGGVQ8");
+
+        assertEquals(8, (int) player.getPlayerTroopLevel("Barbarian"));
+        assertEquals(10, (int) player.getPlayerTroopLevel("Raged Barbarian"));
+        assertEquals(7, (int) player.getPlayerSpellLevel("Lightning Spell"));
+        assertEquals(60, (int) player.getPlayerHeroLevel("Barbarian King"));
+        assertEquals(70, (int) player.getPlayerHeroMaxLevel("Barbarian King"));
+
+        // A troop of both villages is looked up in the order of the server response.
+        assertEquals("home", player.getPlayerTroopVillage("Baby Dragon"));
+        assertEquals(6, player.findPlayerTroopLevel("Baby Dragon").getAsInt());
+        assertEquals(7, player.findPlayerSpellLevel("Lightning Spell").getAsInt());
+        assertEquals(60, player.findPlayerHeroLevel("Barbarian King").getAsInt());
+    }
+
+    @Test
+    public void missingUnitTest() throws ClanJWException, UnsupportedEncodingException, JSONException {
+        COCPlayers player = new COCPlayers(transport, "#9PJGGVQ8");
+
+        try {
+            player.getPlayerTroopLevel("Yeti");
+            fail("Expected TroopNotUnlockedException");
+        } catch (TroopNotUnlockedException expected) {
+            // Yeti is a troop, but not unlocked by the player.
+        }
+
+        try {
+            player.getPlayerTroopLevel("Unknown Troop");
+            fail("Expected IllegalTroopNameException");
+        } catch (IllegalTroopNameException expected) {
+            // Unknown Troop is not a troop.
+        }
+
+        try {
+            player.getPlayerHeroLevel("Archer Queen");
+            fail("Expected HeroNotUnlockedException");
+        } catch (HeroNotUnlockedException expected) {
+            // Archer Queen is a hero, but not unlocked by the player.
+        }
+
+        assertFalse(player.findPlayerTroopLevel("Yeti").isPresent());
+        assertFalse(player.findPlayerTroopLevel("Lightning Spell").isPresent());
+        assertFalse(player.findPlayerSpellLevel("Haste Spell").isPresent());
+        assertFalse(player.findPlayerHeroLevel(null).isPresent());
+    }
+
+    @Test
+    public void unlockStatusTest() throws ClanJWException, UnsupportedEncodingException {
+        COCPlayers player = new COCPlayers(transport, "#9PJGGVQ8");
+
+        assertEquals(UnlockStatus.UNLOCKED, player.getTroopUnlockStatus("Barbarian"));
+        assertEquals(UnlockStatus.UNLOCKED, player.getTroopUnlockStatus("Raged Barbarian"));
+        assertEquals(UnlockStatus.NOT_UNLOCKED, player.getTroopUnlockStatus("Yeti"));
+        assertEquals(UnlockStatus.UNKNOWN, player.getTroopUnlockStatus("Unknown Troop"));
+        assertEquals(UnlockStatus.UNKNOWN, player.getTroopUnlockStatus("Lightning Spell"));
+
+        assertEquals(UnlockStatus.UNLOCKED, player.getSpellUnlockStatus("Lightning Spell"));
+        assertEquals(UnlockStatus.NOT_UNLOCKED, player.getSpellUnlockStatus("Haste Spell"));
+        assertEquals(UnlockStatus.UNKNOWN, player.getSpellUnlockStatus(null));
+
+        assertEquals(UnlockStatus.UNLOCKED, player.getHeroUnlockStatus("Barbarian King"));
+        assertEquals(UnlockStatus.NOT_UNLOCKED, player.getHeroUnlockStatus("Archer Queen"));
+        assertEquals(UnlockStatus.UNKNOWN, player.getHeroUnlockStatus("Barbarian"));
+    }
+
+    @Test
+    public void stacklessExceptionTest() throws ClanJWException, UnsupportedEncodingException, JSONException {
+        COCPlayers player = new COCPlayers(transport, "#9PJGGVQ8");
+
+        try {
+            player.getPlayerTroopLevel("Yeti");
+            fail("Expected TroopNotUnlockedException");
+        } catch (TroopNotUnlockedException expected) {
+            assertEquals(0, expected.getStackTrace().length);
+        }
+
+        try {
+            player.getPlayerSpellLevel("Haste Spell");
+            fail("Expected SpellNotUnlockedException");
+        } catch (SpellNotUnlockedException expected) {
+            assertEquals(0, expected.getStackTrace().length);
+        }
+
+        try {
+            player.getPlayerHeroLevel("Archer Queen");
+            fail("Expected HeroNotUnlockedException");
+        } catch (HeroNotUnlockedException expected) {
+            assertEquals(0, expected.getStackTrace().length);
+        }
+
+        // An invalid name is a programming error, so its exception keeps the stack trace.
+        try {
+            player.getPlayerTroopLevel("Unknown Troop");
+            fail("Expected IllegalTroopNameException");
+        } catch (IllegalTroopNameException expected) {
+            assertTrue(expected.getStackTrace().length > 0);
+        }
+    }
+
+    @Test
+    public void bulkLevelsTest() throws ClanJWException, UnsupportedEncodingException, JSONException {
+        COCPlayers player = new COCPlayers(transport, "#9PJGGVQ8");
+
+        Map<String, Integer> troops = player.getPlayerTroopLevels();
+        assertEquals(Arrays.asList("Barbarian", "Baby Dragon", "Raged Barbarian"), new ArrayList<>(troops.keySet()));
+        assertEquals(6, (int) troops.get("Baby Dragon"));
+        assertEquals(Collections.singletonMap("Lightning Spell", 7), player.getPlayerSpellLevels());
+        assertEquals(Collections.singletonMap("Barbarian King", 60), player.getPlayerHeroLevels());
+
+        player.changePlayerTag("#2PP");
+        assertEquals(Collections.singletonMap("Archer", 3), player.getPlayerTroopLevels());
+        assertEquals(Collections.emptyMap(), player.getPlayerSpellLevels());
+        assertFalse(player.findPlayerTroopLevel("Barbarian").isPresent());
+    }
+}
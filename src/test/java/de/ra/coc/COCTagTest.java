@@ -0,0 +1,38 @@
+package de.ra.coc;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class COCTagTest {
+    @Test
+    public void normalizeTest() {
+        assertEquals("#PJYPYG9P", COCTag.normalize("#PJYPYG9P"));
+        assertEquals("#PJYPYG9P", COCTag.normalize("pjypyg9p"));
+        assertEquals("#2PP0", COCTag.normalize(" #2ppO "));
+        assertEquals("#2PP", COCTag.normalize("%232PP"));
+    }
+
+    @Test
+    public void encodeTest() {
+        assertEquals("%23PJYPYG9P", COCTag.encode("#pjypyg9p"));
+        assertEquals("%232PP0", COCTag.encode("2PPo"));
+    }
+
+    @Test
+    public void malformedTagTest() {
+        assertNull(COCTag.normalize(null));
+        assertNull(COCTag.normalize(""));
+        assertNull(COCTag.normalize("#"));
+        assertNull(COCTag.encode("#2PP<script>"));
+        assertNull(COCTag.encode("#ABC"));
+        assertNull(COCTag.encode("#2P P"));
+        assertNull(COCTag.encode("#2PP\u00e9"));
+        assertNull(COCTag.encode("#2222222222222222"));
+        assertFalse(COCTag.isValid("#1"));
+        assertTrue(COCTag.isValid("#0"));
+    }
+}
@@ -0,0 +1,129 @@
+package de.ra.coc.Clan;
+
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ClanDirectoryCrawlerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static ClanSearch shard(int locationID, int pages, int failingPage) throws UnsupportedEncodingException {
+        ClanSearch search = new ClanSearch(TokenPool.of("token")) {
+            @Override
+            JSONObject fetchPage(String link) throws COCServerConnectionException {
+                int page = link.contains("after=") ? Integer.parseInt(link.substring(link.indexOf("after=") + 6)) : 0;
+                if (page == failingPage)
+                    throw new COCServerConnectionException(503, "inMaintenance", "maintenance");
+
+                try {
+                    JSONObject result = new JSONObject("{\"items\":[{\"tag\":\"#" + locationID + "P" + page + "\"}," +
+                            "{\"tag\":\"#SHARED\"}],\"paging\":{\"cursors\":{}}}");
+                    if (page + 1 < pages)
+                        result.getJSONObject("paging").getJSONObject("cursors").put("after", String.valueOf(page + 1));
+                    return result;
+                } catch (JSONException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        search.locationIDCriteria = locationID;
+        return search.buildClanSearch();
+    }
+
+    @Test
+    public void crawlTest() throws Exception {
+        List<String> tags = Collections.synchronizedList(new ArrayList<>());
+        ClanDirectoryCrawler crawler = new ClanDirectoryCrawler(folder.newFile("crawl.properties"), 2)
+                .addShard(shard(1, 3, -1))
+                .addShard(shard(2, 2, -1));
+
+        assertEquals(6, crawler.crawl(clan -> tags.add(clan.optString("tag"))));
+        assertEquals(6, tags.size());
+        assertTrue(tags.contains("#SHARED"));
+        assertTrue(crawler.isFinished());
+    }
+
+    @Test
+    public void failingShardTest() throws Exception {
+        AtomicInteger fetchedPages = new AtomicInteger();
+        ClanSearch endless = new ClanSearch(TokenPool.of("token")) {
+            @Override
+            JSONObject fetchPage(String link) throws COCServerConnectionException {
+                int page = fetchedPages.incrementAndGet();
+                try {
+                    Thread.sleep(20);
+                    return new JSONObject("{\"items\":[{\"tag\":\"#1P" + page + "\"}]," +
+                            "\"paging\":{\"cursors\":{\"after\":\"" + page + "\"}}}");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new COCServerConnectionException(-1, "interrupted", "interrupted");
+                } catch (JSONException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        endless.locationIDCriteria = 1;
+
+        ClanDirectoryCrawler crawler = new ClanDirectoryCrawler(folder.newFile("failing.properties"), 2)
+                .addShard(shard(2, 4, 1))
+                .addShard(endless.buildClanSearch());
+        try {
+            crawler.crawl(clan -> { });
+            fail();
+        } catch (COCServerConnectionException e) {
+            assertEquals(503, e.getStatusCode());
+        }
+
+        // The other shard is stopped before the failure is thrown.
+        int pages = fetchedPages.get();
+        Thread.sleep(200);
+        assertEquals(pages, fetchedPages.get());
+        assertFalse(crawler.isFinished());
+    }
+
+    @Test
+    public void resumeTest() throws Exception {
+        File checkpoint = new File(folder.getRoot(), "crawl.properties");
+        List<String> tags = Collections.synchronizedList(new ArrayList<>());
+
+        ClanDirectoryCrawler failing = new ClanDirectoryCrawler(checkpoint, 1)
+                .addShard(shard(1, 4, 2));
+        try {
+            failing.crawl(clan -> tags.add(clan.optString("tag")));
+            fail();
+        } catch (COCServerConnectionException e) {
+            assertEquals(503, e.getStatusCode());
+        }
+        assertEquals(3, tags.size());
+        assertFalse(failing.isFinished());
+
+        tags.clear();
+        ClanDirectoryCrawler resumed = new ClanDirectoryCrawler(checkpoint, 1)
+                .addShard(shard(1, 4, -1));
+        resumed.crawl(clan -> tags.add(clan.optString("tag")));
+
+        assertEquals(3, tags.size());
+        assertEquals("#1P2", tags.get(0));
+        assertTrue(resumed.isFinished());
+
+        resumed.resetCheckpoint();
+        assertFalse(checkpoint.exists());
+    }
+}
@@ -0,0 +1,37 @@
+package de.ra.coc.Clan;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ClanRosterTest {
+
+    @Test
+    public void decodesMembersTest() throws JSONException {
+        ClanRoster roster = ClanRoster.fromJSON(new JSONObject("{\"items\":[" +
+                "{\"tag\":\"#9PJGGVQ8\",\"name\":\"Ranjith\",\"role\":\"leader\",\"expLevel\":120,\"trophies\":3100," +
+                "\"versusTrophies\":2500,\"clanRank\":1,\"previousClanRank\":2,\"donations\":500,\"donationsReceived\":20}," +
+                "{\"tag\":\"#PJYPYG9P\",\"name\":\"Elder\",\"role\":\"admin\",\"trophies\":2900,\"clanRank\":2," +
+                "\"donations\":100}],\"paging\":{\"cursors\":{}}}"));
+
+        assertEquals(2, roster.size());
+        assertEquals("Ranjith", roster.getName(0));
+        assertEquals("leader", roster.getRole(0));
+        assertEquals("admin", roster.getRole(1));
+        assertEquals(3100, roster.getTrophies(0));
+        assertEquals(2, roster.getPreviousClanRank(0));
+        assertEquals(-1, roster.getExperienceLevel(1));
+        assertEquals(0, roster.getDonationsReceived(1));
+        assertEquals(600, roster.getTotalDonations());
+        assertEquals(1, roster.indexOf("#PJYPYG9P"));
+        assertEquals(-1, roster.indexOf("#0"));
+        assertEquals(2, roster.getTags().length);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void indexOutOfBoundsTest() throws JSONException {
+        ClanRoster.fromJSON(new JSONObject("{\"items\":[]}")).getTag(0);
+    }
+}
@@ -0,0 +1,143 @@
+package de.ra.coc.Clan;
+
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.serverConnectionException.UncheckedCOCServerConnectionException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ClanSearchIteratorTest {
+
+    private static ClanSearch pagedSearch(int pages, List<String> links) throws UnsupportedEncodingException {
+        ClanSearch search = new ClanSearch(TokenPool.of("token")) {
+            @Override
+            JSONObject fetchPage(String link) throws COCServerConnectionException {
+                links.add(link);
+                int page = link.contains("after=") ? Integer.parseInt(link.substring(link.indexOf("after=") + 6)) : 0;
+                try {
+                    JSONObject result = new JSONObject("{\"items\":[{\"tag\":\"#" + page + "A\"},{\"tag\":\"#" + page + "B\"}]," +
+                            "\"paging\":{\"cursors\":{}}}");
+                    if (page + 1 < pages)
+                        result.getJSONObject("paging").getJSONObject("cursors").put("after", String.valueOf(page + 1));
+                    return result;
+                } catch (JSONException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        search.clanNameCriteria = "Gods";
+        search.resultLimit = 2;
+        return search.buildClanSearch();
+    }
+
+    @Test
+    public void followsAfterCursorsTest() throws UnsupportedEncodingException {
+        List<String> links = Collections.synchronizedList(new ArrayList<>());
+        List<String> tags = pagedSearch(3, links).stream()
+                .map(clan -> clan.optString("tag"))
+                .collect(Collectors.toList());
+
+        assertEquals(6, tags.size());
+        assertEquals("#0A", tags.get(0));
+        assertEquals("#2B", tags.get(5));
+        assertEquals(3, links.size());
+        assertEquals("https://api.clashofclans.com/v1/clans?name=Gods&limit=2&after=1", links.get(1));
+    }
+
+    @Test
+    public void maxItemsTest() throws UnsupportedEncodingException {
+        List<String> links = Collections.synchronizedList(new ArrayList<>());
+        Iterator<JSONObject> iterator = pagedSearch(10, links).iterator(3);
+
+        assertEquals("#0A", iterator.next().optString("tag"));
+        assertEquals("#0B", iterator.next().optString("tag"));
+        assertEquals("#1A", iterator.next().optString("tag"));
+        assertFalse(iterator.hasNext());
+        assertEquals(2, links.size());
+    }
+
+    @Test
+    public void failedPageTest() {
+        ClanSearch search = new ClanSearch(TokenPool.of("token")) {
+            @Override
+            JSONObject fetchPage(String link) throws COCServerConnectionException {
+                throw new COCServerConnectionException(503, "inMaintenance", "maintenance");
+            }
+        };
+
+        try {
+            search.iterator(10).hasNext();
+            fail();
+        } catch (UncheckedCOCServerConnectionException e) {
+            assertEquals(503, e.getCause().getStatusCode());
+        }
+    }
+
+    @Test
+    public void skipsMissingClansTest() throws UnsupportedEncodingException {
+        ClanSearch search = new ClanSearch(TokenPool.of("token")) {
+            @Override
+            JSONObject fetchPage(String link) {
+                try {
+                    return new JSONObject("{\"items\":[null,{\"tag\":\"#2PP\"},5,null,{\"tag\":\"#2PQ\"},null]}");
+                } catch (JSONException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        search.clanNameCriteria = "Gods";
+        search.buildClanSearch();
+
+        assertEquals(Arrays.asList("#2PP", "#2PQ"), search.stream()
+                .map(clan -> clan.optString("tag"))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void closeCancelsPrefetchTest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ClanSearch search = new ClanSearch(TokenPool.of("token")) {
+            @Override
+            JSONObject fetchPage(String link) {
+                try {
+                    if (link.contains("after=")) {
+                        started.countDown();
+                        Thread.sleep(10000);
+                        return null;
+                    }
+                    return new JSONObject("{\"items\":[{\"tag\":\"#2PP\"}],\"paging\":{\"cursors\":{\"after\":\"1\"}}}");
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    return null;
+                } catch (JSONException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        search.clanNameCriteria = "Gods";
+        search.buildClanSearch();
+
+        try (ClanSearchIterator iterator = search.iterator(10)) {
+            assertEquals("#2PP", iterator.next().optString("tag"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        }
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,168 @@
+package de.ra.coc.Clan;
+
+import de.ra.coc.COCTime;
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.coc.ServerConnection.Transport;
+import de.ra.exception.tagException.InvalidItemTagException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CurrentWarPollerTest {
+    private static final String CLAN_TAG = "#PJYPYG9P";
+    private static final String PREPARATION_START = "20200101T100000.000Z";
+    private static final String START = "20200102T100000.000Z";
+    private static final String END = "20200103T100000.000Z";
+
+    private final List<String> events = new ArrayList<>();
+    private CurrentWarPoller poller;
+
+    @Before
+    public void setUp() {
+        poller = new CurrentWarPoller(new TokenPool("token"), 1);
+        poller.addListener(new WarListener() {
+            @Override
+            public void onWarStarted(String clanTag, JSONObject war) {
+                events.add("started " + war.optString("state", null));
+            }
+
+            @Override
+            public void onAttack(String clanTag, JSONObject war, WarAttack attack) {
+                events.add("attack " + attack.getOrder() + " " + attack.getAttackerTag() + " " + attack.isClanAttack());
+            }
+
+            @Override
+            public void onWarEnded(String clanTag, JSONObject war) {
+                events.add("ended " + war.optString("state", null));
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        poller.close();
+    }
+
+    private static JSONObject war(String state, String clanAttacks, String opponentAttacks) throws JSONException {
+        return new JSONObject("{\"state\":\"" + state + "\",\"preparationStartTime\":\"" + PREPARATION_START + "\"," +
+                "\"startTime\":\"" + START + "\",\"endTime\":\"" + END + "\"," +
+                "\"clan\":{\"members\":[{\"tag\":\"#A\",\"attacks\":[" + clanAttacks + "]}]}," +
+                "\"opponent\":{\"members\":[{\"tag\":\"#B\",\"attacks\":[" + opponentAttacks + "]}]}}");
+    }
+
+    private static String attack(String attackerTag, int order) {
+        return "{\"attackerTag\":\"" + attackerTag + "\",\"defenderTag\":\"#X\",\"stars\":2," +
+                "\"destructionPercentage\":66,\"order\":" + order + ",\"duration\":120}";
+    }
+
+    @Test
+    public void eventsTest() throws JSONException {
+        CurrentWarPoller.ClanWar clan = new CurrentWarPoller.ClanWar();
+        long now = COCTime.parse(PREPARATION_START);
+
+        poller.update(CLAN_TAG, clan, war("preparation", "", ""), now);
+        poller.update(CLAN_TAG, clan, war("inWar", attack("#A", 1), ""), now);
+        poller.update(CLAN_TAG, clan, war("inWar", attack("#A", 1), attack("#B", 3) + "," + attack("#B", 2)), now);
+        poller.update(CLAN_TAG, clan, war("inWar", attack("#A", 1), attack("#B", 3) + "," + attack("#B", 2)), now);
+        poller.update(CLAN_TAG, clan, war("warEnded", attack("#A", 1), attack("#B", 3) + "," + attack("#B", 2)), now);
+        poller.update(CLAN_TAG, clan, new JSONObject("{\"state\":\"notInWar\"}"), now);
+
+        List<String> expected = new ArrayList<>();
+        expected.add("started preparation");
+        expected.add("attack 1 #A true");
+        expected.add("attack 2 #B false");
+        expected.add("attack 3 #B false");
+        expected.add("ended warEnded");
+        assertEquals(expected, events);
+    }
+
+    @Test
+    public void missedEndTest() throws JSONException {
+        CurrentWarPoller.ClanWar clan = new CurrentWarPoller.ClanWar();
+        long now = COCTime.parse(START);
+
+        poller.update(CLAN_TAG, clan, war("inWar", attack("#A", 1), ""), now);
+        poller.update(CLAN_TAG, clan, new JSONObject("{\"state\":\"notInWar\"}"), now);
+
+        List<String> expected = new ArrayList<>();
+        expected.add("started inWar");
+        expected.add("attack 1 #A true");
+        expected.add("ended inWar");
+        assertEquals(expected, events);
+    }
+
+    @Test
+    public void endedBeforeFirstPollTest() throws JSONException {
+        CurrentWarPoller.ClanWar clan = new CurrentWarPoller.ClanWar();
+        poller.update(CLAN_TAG, clan, war("warEnded", attack("#A", 1), ""), COCTime.parse(END));
+        assertEquals(0, events.size());
+    }
+
+    @Test
+    public void adaptiveIntervalTest() throws JSONException {
+        CurrentWarPoller.ClanWar clan = new CurrentWarPoller.ClanWar();
+        long start = COCTime.parse(START);
+
+        assertEquals(CurrentWarPoller.DEFAULT_PREPARATION_INTERVAL,
+                poller.update(CLAN_TAG, clan, war("preparation", "", ""), COCTime.parse(PREPARATION_START)));
+        assertEquals(1000, poller.update(CLAN_TAG, clan, war("preparation", "", ""), start - 1000));
+        assertEquals(CurrentWarPoller.DEFAULT_BATTLE_DAY_INTERVAL,
+                poller.update(CLAN_TAG, clan, war("inWar", "", ""), start));
+        assertEquals(CurrentWarPoller.DEFAULT_NOT_IN_WAR_INTERVAL,
+                poller.update(CLAN_TAG, clan, new JSONObject("{\"state\":\"notInWar\"}"), start));
+    }
+
+    @Test
+    public void pollFailureTest() throws InterruptedException {
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch reported = new CountDownLatch(2);
+        Transport transport = new Transport() {
+            @Override
+            public String getBaseLink() {
+                return "http://127.0.0.1/v1";
+            }
+
+            @Override
+            public JSONObject get(String link, String tag) throws InvalidItemTagException {
+                if (tag.equals("%232PQ"))
+                    throw new InvalidItemTagException(tag);
+                throw new IllegalStateException("Malformed response");
+            }
+        };
+
+        try (CurrentWarPoller failing = new CurrentWarPoller(transport, 1)) {
+            failing.addListener(new WarListener() {
+                @Override
+                public void onPollFailed(String clanTag, Exception exception) {
+                    failures.add("failed " + clanTag + " " + exception.getMessage());
+                    reported.countDown();
+                }
+
+                @Override
+                public void onClanRemoved(String clanTag, Exception exception) {
+                    failures.add("removed " + clanTag + " " + exception.getClass().getSimpleName());
+                    reported.countDown();
+                }
+            });
+            failing.addClan("#2PP").addClan("#2PQ");
+
+            assertTrue(reported.await(5, TimeUnit.SECONDS));
+            assertTrue(failures.contains("failed #2PP Malformed response"));
+            assertTrue(failures.contains("removed #2PQ InvalidItemTagException"));
+            assertTrue(failing.getClanTags().contains("#2PP"));
+            assertFalse(failing.getClanTags().contains("#2PQ"));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package de.ra.coc.Clan;
+
+import de.ra.coc.COCTime;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WarLogSyncTest {
+    private static final String CLAN_TAG = "#PJYPYG9P";
+
+    private static String war(String endTime, String result, int stars) {
+        return "{\"result\":\"" + result + "\",\"endTime\":\"" + endTime + "\",\"teamSize\":15,\"attacksPerMember\":2," +
+                "\"clan\":{\"tag\":\"" + CLAN_TAG + "\",\"stars\":" + stars + ",\"destructionPercentage\":87.5," +
+                "\"attacks\":28,\"expEarned\":180},\"opponent\":{\"tag\":\"#2PP\",\"name\":\"Opponent\",\"stars\":30," +
+                "\"destructionPercentage\":75.25}}";
+    }
+
+    @Test
+    public void incrementalSyncTest() throws JSONException {
+        WarLogSync sync = new WarLogSync("token");
+        JSONObject firstLog = new JSONObject("{\"items\":[" + war("20200110T120000.000Z", "win", 40) + "," +
+                war("20200105T120000.000Z", "lose", 20) + "]}");
+
+        List<WarLogEntry> entries = sync.sync(CLAN_TAG, firstLog);
+        assertEquals(2, entries.size());
+        assertEquals("win", entries.get(0).getResult());
+        assertEquals(40, entries.get(0).getStars());
+        assertEquals(87.5f, entries.get(0).getDestructionPercentage(), 0.001f);
+        assertEquals(28, entries.get(0).getAttacks());
+        assertEquals("#2PP", entries.get(1).getOpponentTag());
+        assertEquals(COCTime.parse("20200110T120000.000Z"), sync.getNewestEndTime(CLAN_TAG));
+
+        JSONObject secondLog = new JSONObject("{\"items\":[" + war("20200115T120000.000Z", "tie", 33) + "," +
+                war("20200110T120000.000Z", "win", 40) + "," + war("20200105T120000.000Z", "lose", 20) + "]}");
+        entries = sync.sync(CLAN_TAG, secondLog);
+        assertEquals(1, entries.size());
+        assertEquals("tie", entries.get(0).getResult());
+
+        assertTrue(sync.sync(CLAN_TAG, secondLog).isEmpty());
+
+        sync.setNewestEndTime(CLAN_TAG, -1);
+        assertEquals(3, sync.sync(CLAN_TAG, secondLog).size());
+    }
+
+    @Test
+    public void timeTest() {
+        assertEquals(1577880000000L, COCTime.parse("20200101T120000.000Z"));
+        assertEquals(-1, COCTime.parse("invalid"));
+    }
+}
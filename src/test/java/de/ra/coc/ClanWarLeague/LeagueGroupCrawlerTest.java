@@ -0,0 +1,77 @@
+package de.ra.coc.ClanWarLeague;
+
+import de.ra.coc.ServerConnection.TokenPool;
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.tagException.InvalidItemTagException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LeagueGroupCrawlerTest {
+    private static final String GROUP = "{\"state\":\"inWar\",\"season\":\"2020-01\"," +
+            "\"clans\":[{\"tag\":\"#P2\"},{\"tag\":\"#Q2\"},{\"tag\":\"#R2\"},{\"tag\":\"#U2\"}]," +
+            "\"rounds\":[{\"warTags\":[\"#8P\",\"#8Q\"]},{\"warTags\":[\"#8R\",\"#8U\"]},{\"warTags\":[\"#0\",\"#0\"]}]}";
+
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private LeagueGroupCrawler crawler;
+
+    @Before
+    public void setUp() {
+        crawler = new LeagueGroupCrawler(new TokenPool("token"), 4) {
+            @Override
+            JSONObject fetch(String link, String tag) throws COCServerConnectionException {
+                requests.computeIfAbsent(tag, key -> new AtomicInteger()).incrementAndGet();
+                try {
+                    if (link.endsWith("/leaguegroup"))
+                        return new JSONObject(GROUP);
+
+                    String warTag = tag.replace("%23", "#");
+                    boolean ended = warTag.equals("#8P") || warTag.equals("#8Q");
+                    String[] sides = warTag.equals("#8P") || warTag.equals("#8R") ? new String[]{"#P2", "#Q2"} : new String[]{"#R2", "#U2"};
+                    return new JSONObject("{\"state\":\"" + (ended ? "warEnded" : "inWar") + "\"," +
+                            "\"clan\":{\"tag\":\"" + sides[0] + "\"},\"opponent\":{\"tag\":\"" + sides[1] + "\"}}");
+                } catch (JSONException e) {
+                    throw new COCServerConnectionException(-1, "JSONException", e.getMessage());
+                }
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        crawler.close();
+    }
+
+    @Test
+    public void leagueGroupTest() throws COCServerConnectionException, InvalidItemTagException, UnsupportedEncodingException {
+        LeagueGroup group = crawler.getLeagueGroup("#P2");
+        assertEquals("2020-01", group.getSeason());
+        assertEquals(4, group.getClanTags().size());
+        assertEquals(3, group.getRoundCount());
+        assertEquals(0, group.getWarTags(2).size());
+        assertEquals(4, group.getWarTags().size());
+        assertEquals(2, group.getWars(1).size());
+        assertEquals(2, group.getWarsOfClan("#Q2").size());
+        assertNull(group.getWar("#0"));
+
+        assertEquals(2, crawler.getEndedWarCount());
+        for (String warTag : group.getWarTags())
+            assertEquals(1, requests.get(warTag.replace("#", "%23")).get());
+
+        crawler.getLeagueGroup("#R2");
+        assertEquals(1, requests.get("%238P").get());
+        assertEquals(1, requests.get("%238Q").get());
+        assertEquals(2, requests.get("%238R").get());
+        assertEquals(2, requests.get("%238U").get());
+    }
+}
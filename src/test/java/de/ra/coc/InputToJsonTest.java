@@ -0,0 +1,34 @@
+package de.ra.coc;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class InputToJsonTest {
+    @Test
+    public void utf8StreamTest() throws IOException, JSONException {
+        StringBuilder description = new StringBuilder();
+        for (int index = 0; index < 5000; index++)
+            description.append("G\u00f6tter \u2694 \ud83d\udc51 ");
+
+        String json = "{\"name\":\"Gods Angels \u2728\",\"clanLevel\":4,\"description\":\"" + description + "\"}";
+        JSONObject clan = InputToJson.readJSONObject(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("Gods Angels \u2728", clan.get("name"));
+        assertEquals(4, clan.get("clanLevel"));
+        assertEquals(description.toString(), clan.get("description"));
+    }
+
+    @Test
+    public void emptyStreamTest() {
+        assertNull(InputToJson.getJSONObject(new ByteArrayInputStream(new byte[0])));
+        assertNull(InputToJson.getJSONObject(new ByteArrayInputStream(" \n ".getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,53 @@
+package de.ra.coc;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PlayerSnapshotTest {
+
+    @Test
+    public void decodesPlayerInformation() throws JSONException {
+        PlayerSnapshot snapshot = PlayerSnapshot.fromJSON(new JSONObject("{" +
+                "\"tag\":\"#9PJGGVQ8\",\"name\":\"Ranjith\",\"expLevel\":120,\"townHallLevel\":12," +
+                "\"trophies\":3100,\"bestTrophies\":3500,\"warStars\":700,\"donations\":42,\"role\":\"admin\"," +
+                "\"clan\":{\"tag\":\"#PJYPYG9P\",\"name\":\"Clan\",\"clanLevel\":15,\"badgeUrls\":{\"small\":\"s\"}}," +
+                "\"league\":{\"id\":29000022,\"name\":\"Legend League\",\"iconUrls\":{\"tiny\":\"t\"}}," +
+                "\"troops\":[{\"name\":\"Barbarian\",\"level\":8,\"maxLevel\":9,\"village\":\"home\"}," +
+                "{\"name\":\"Raged Barbarian\",\"level\":10,\"maxLevel\":18,\"village\":\"builderBase\"}]," +
+                "\"heroes\":[{\"name\":\"Barbarian King\",\"level\":60,\"maxLevel\":70,\"village\":\"home\"}]}"));
+
+        assertEquals("#9PJGGVQ8", snapshot.getTag());
+        assertEquals(120, snapshot.getExperienceLevel());
+        assertEquals(12, snapshot.getTownHallLevel());
+        assertEquals(3100, snapshot.getCurrentTrophies());
+        assertEquals(42, snapshot.getTroopsDonated());
+        assertEquals("admin", snapshot.getRole());
+        assertEquals(15, snapshot.getClan().getClanLevel());
+        assertEquals("s", snapshot.getClan().getSmallBadgeUrl());
+        assertEquals("NotApplicable", snapshot.getClan().getLargeBadgeUrl());
+        assertEquals("Legend League", snapshot.getLeague().getName());
+        assertEquals(2, snapshot.getTroops().size());
+        assertEquals("builderBase", snapshot.getTroops().get(1).getVillage());
+        assertEquals(60, snapshot.getHeroes().get(0).getLevel());
+        assertTrue(snapshot.getSpells().isEmpty());
+    }
+
+    @Test
+    public void usesDefaultsOfMissingInformation() throws JSONException {
+        PlayerSnapshot snapshot = PlayerSnapshot.fromJSON(new JSONObject("{\"tag\":\"#9PJGGVQ8\"}"));
+
+        assertEquals("NotGiven", snapshot.getName());
+        assertEquals("NotApplicable", snapshot.getRole());
+        assertEquals(-1, snapshot.getExperienceLevel());
+        assertEquals(-1, snapshot.getBestVersusTrophies());
+        assertEquals(0, snapshot.getBuilderHallLevel());
+        assertNull(snapshot.getClan());
+        assertNull(snapshot.getLeague());
+        assertTrue(snapshot.getTroops().isEmpty());
+    }
+}
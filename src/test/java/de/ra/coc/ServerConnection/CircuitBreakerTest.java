@@ -0,0 +1,94 @@
+package de.ra.coc.ServerConnection;
+
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.serverConnectionException.CircuitOpenException;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakerTest {
+    @Test
+    public void circuitBreakerTest() throws CircuitOpenException, InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(2, 50, TimeUnit.MILLISECONDS);
+
+        breaker.beforeRequest();
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.beforeRequest();
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        try {
+            breaker.beforeRequest();
+            fail("Request must not be sent while the circuit is open");
+        } catch (CircuitOpenException e) {
+            assertEquals(503, e.getStatusCode());
+        }
+
+        Thread.sleep(60);
+        breaker.beforeRequest();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        try {
+            breaker.beforeRequest();
+            fail("Only a single trial request is allowed");
+        } catch (CircuitOpenException expected) {
+            // expected
+        }
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getFailures());
+    }
+
+    @Test
+    public void cancelledTrialTest() throws CircuitOpenException, InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(1, 20, TimeUnit.MILLISECONDS);
+        breaker.beforeRequest();
+        breaker.recordFailure();
+
+        Thread.sleep(30);
+        breaker.beforeRequest();
+        breaker.recordCancelled();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.beforeRequest();
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void interruptedRequestTest() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, 1, TimeUnit.MINUTES);
+        HttpConnection.setCircuitBreaker(breaker);
+        try {
+            Thread.currentThread().interrupt();
+            HttpConnection.connectAndGetResults("http://127.0.0.1:9/v1/players/%232PP", "#2PP", "token");
+            fail("Expected COCServerConnectionException");
+        } catch (COCServerConnectionException e) {
+            assertEquals(-1, e.getStatusCode());
+        } finally {
+            Thread.interrupted();
+            HttpConnection.setCircuitBreaker(new CircuitBreaker());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getFailures());
+    }
+
+    @Test
+    public void retryPolicyTest() {
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000, TimeUnit.MILLISECONDS);
+
+        long first = policy.getBackoffMillis(1, -1);
+        assertTrue(first >= 50 && first <= 100);
+        assertEquals(2000, new RetryPolicy(3, 100, 5000, TimeUnit.MILLISECONDS).getBackoffMillis(2, 2));
+        assertEquals(-1, policy.getBackoffMillis(1, 5));
+        assertEquals(-1, policy.getBackoffMillis(3, -1));
+    }
+}
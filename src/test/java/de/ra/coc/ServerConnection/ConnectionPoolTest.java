@@ -0,0 +1,87 @@
+package de.ra.coc.ServerConnection;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConnectionPoolTest {
+    private HttpServer server;
+    private String link;
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = String.valueOf(exchange.getRemoteAddress().getPort()).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        link = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/players";
+    }
+
+    @After
+    public void tearDown() {
+        ConnectionPool.setMaxConnections(ConnectionPool.DEFAULT_MAX_CONNECTIONS);
+        server.stop(0);
+    }
+
+    @Test
+    public void reuseTest() throws Exception {
+        // A released connection is kept by the keep-alive cache of the JDK and used by the next request.
+        String first = request();
+        assertEquals(first, request());
+
+        // The body that is not read by the request is consumed by the pool, so the connection is reused anyway.
+        HttpURLConnection connection = ConnectionPool.openConnection(link);
+        ConnectionPool.release(connection.getInputStream());
+        assertEquals(first, request());
+    }
+
+    @Test
+    public void maxConnectionsTest() throws Exception {
+        ConnectionPool.setMaxConnections(2);
+        Semaphore permit = ConnectionPool.acquire();
+        assertEquals(1, ConnectionPool.getAvailableConnections());
+        permit.release();
+        assertEquals(2, ConnectionPool.getAvailableConnections());
+    }
+
+    @Test
+    public void noSystemPropertyTest() {
+        assertTrue(ConnectionPool.getMaxConnections() > 0);
+        assertNull(System.getProperty("http.maxConnections"));
+    }
+
+    private String request() throws IOException {
+        HttpURLConnection connection = ConnectionPool.openConnection(link);
+        InputStream input = connection.getInputStream();
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[64];
+            for (int read; (read = input.read(buffer)) != -1; )
+                output.write(buffer, 0, read);
+            return output.toString("UTF-8");
+        } finally {
+            ConnectionPool.release(input);
+        }
+    }
+}
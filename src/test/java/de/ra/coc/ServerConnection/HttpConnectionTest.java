@@ -0,0 +1,213 @@
+package de.ra.coc.ServerConnection;
+
+import com.sun.net.httpserver.HttpServer;
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.tagException.InvalidItemTagException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HttpConnectionTest {
+    private HttpServer server;
+    private String link;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"tag\":\"#9PJGGVQ8\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.createContext("/v1/clans/", exchange -> {
+            requests.incrementAndGet();
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=0");
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "{\"tag\":\"#PJYPYG9P\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.createContext("/v1/missing/", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = "{\"reason\":\"notFound\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(404, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.createContext("/v1/denied/", exchange -> {
+            requests.incrementAndGet();
+            String reason = exchange.getRequestURI().getPath().endsWith("/ip") ? "accessDenied.invalidIp" : "accessDenied";
+            byte[] body = ("{\"reason\":\"" + reason + "\",\"message\":\"Access denied\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(403, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        link = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/players/%239PJGGVQ8";
+    }
+
+    @After
+    public void tearDown() {
+        HttpConnection.setResponseCache(null);
+        HttpConnection.setNegativeCache(null);
+        server.stop(0);
+    }
+
+    @Test
+    public void revalidationTest() throws Exception {
+        String clan = link.replace("/players/%239PJGGVQ8", "/clans/%23PJYPYG9P");
+        HttpConnection.setResponseCache(new LruResponseCache());
+        long notModified = HttpConnection.getNotModifiedResponses();
+
+        JSONObject first = HttpConnection.connectAndGetResults(clan, "#PJYPYG9P", "token");
+        JSONObject second = HttpConnection.connectAndGetResults(clan, "#PJYPYG9P", "token");
+
+        assertSame(first, second);
+        assertEquals(2, requests.get());
+        assertEquals(1, HttpConnection.getNotModifiedResponses() - notModified);
+    }
+
+    @Test
+    public void negativeCacheTest() throws Exception {
+        String missing = link.replace("/players/%239PJGGVQ8", "/missing/players/%232PP");
+        NegativeCache negativeCache = new NegativeCache(100, 1, TimeUnit.MINUTES, 0.01);
+        HttpConnection.setNegativeCache(negativeCache);
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            try {
+                HttpConnection.connectAndGetResults(missing, "#2PP", "token");
+                fail("Expected InvalidItemTagException");
+            } catch (InvalidItemTagException expected) {
+                // The tag is not found.
+            }
+        }
+
+        assertEquals(1, requests.get());
+        assertEquals(2, negativeCache.getHitCount());
+    }
+
+    @Test
+    public void negativeCacheEndpointTest() throws Exception {
+        String leagueGroup = link.replace("/players/%239PJGGVQ8", "/missing/clans/%232PP/currentwar/leaguegroup");
+        NegativeCache negativeCache = new NegativeCache(100, 1, TimeUnit.MINUTES);
+        HttpConnection.setNegativeCache(negativeCache);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                HttpConnection.connectAndGetResults(leagueGroup, "#2PP", "token");
+                fail("Expected InvalidItemTagException");
+            } catch (InvalidItemTagException expected) {
+                // The clan is not in the Clan War League.
+            }
+        }
+
+        assertEquals(2, requests.get());
+        assertEquals(0, negativeCache.size());
+    }
+
+    @Test
+    public void accessDeniedTest() throws Exception {
+        String warLog = link.replace("/players/%239PJGGVQ8", "/denied/warlog");
+        TokenPool tokenPool = new TokenPool("first", "second", "third");
+
+        try {
+            HttpConnection.connectAndGetResults(warLog, "#2PP", tokenPool);
+            fail("Expected COCServerConnectionException");
+        } catch (COCServerConnectionException e) {
+            assertEquals(403, e.getStatusCode());
+        }
+        assertEquals(1, requests.get());
+        assertEquals(3, tokenPool.getActiveTokens().size());
+
+        try {
+            HttpConnection.connectAndGetResults(link.replace("/players/%239PJGGVQ8", "/denied/ip"), "#2PP", tokenPool);
+            fail("Expected COCServerConnectionException");
+        } catch (COCServerConnectionException e) {
+            assertEquals("accessDenied.invalidIp", e.getReason());
+        }
+        assertEquals(4, requests.get());
+        assertTrue(tokenPool.getActiveTokens().isEmpty());
+    }
+
+    @Test
+    public void coalescingPerTokenTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        long coalesced = HttpConnection.getCoalescedRequests();
+        try {
+            Future<JSONObject> first = executor.submit(() -> HttpConnection.connectAndGetResults(link, "#9PJGGVQ8", "first"));
+            Future<JSONObject> second = executor.submit(() -> HttpConnection.connectAndGetResults(link, "#9PJGGVQ8", "second"));
+
+            while (requests.get() < 2 && HttpConnection.getCoalescedRequests() == coalesced)
+                Thread.sleep(5);
+            release.countDown();
+
+            assertEquals("#9PJGGVQ8", first.get().getString("tag"));
+            assertEquals("#9PJGGVQ8", second.get().getString("tag"));
+            assertEquals(0, HttpConnection.getCoalescedRequests() - coalesced);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void coalescingTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        long coalesced = HttpConnection.getCoalescedRequests();
+        try {
+            List<Future<JSONObject>> results = new ArrayList<>();
+            for (int index = 0; index < 8; index++)
+                results.add(executor.submit(() -> HttpConnection.connectAndGetResults(link, "#9PJGGVQ8", "token")));
+
+            while (HttpConnection.getCoalescedRequests() - coalesced < 7)
+                Thread.sleep(5);
+            release.countDown();
+
+            for (Future<JSONObject> result : results)
+                assertEquals("#9PJGGVQ8", result.get().getString("tag"));
+            assertEquals(1, requests.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
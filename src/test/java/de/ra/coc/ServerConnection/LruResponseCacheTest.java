@@ -0,0 +1,79 @@
+package de.ra.coc.ServerConnection;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LruResponseCacheTest {
+    private static final String PLAYER = HttpConnection.API_LINK + HttpConnection.API_VERSION + "/players/%239PJGGVQ8";
+    private static final String CLAN = HttpConnection.API_LINK + HttpConnection.API_VERSION + "/clans/%23PJYPYG9P";
+    private static final String MEMBERS = CLAN + "/members?limit=10";
+
+    @Test
+    public void endpointTest() {
+        assertEquals("players", LruResponseCache.getEndpoint(PLAYER));
+        assertEquals("clans", LruResponseCache.getEndpoint(CLAN));
+        assertEquals("clans/members", LruResponseCache.getEndpoint(MEMBERS));
+        assertEquals("clans", LruResponseCache.getEndpoint(HttpConnection.API_LINK + "v1/clans?name=abc"));
+    }
+
+    @Test
+    public void leastRecentlyUsedTest() {
+        LruResponseCache cache = new LruResponseCache(2, 1, TimeUnit.MINUTES);
+        JSONObject player = new JSONObject();
+        cache.put(PLAYER, player, null, -1, TimeUnit.SECONDS);
+        cache.put(CLAN, new JSONObject(), null, -1, TimeUnit.SECONDS);
+        assertSame(player, cache.get(PLAYER).getResponse());
+
+        cache.put(MEMBERS, new JSONObject(), null, -1, TimeUnit.SECONDS);
+        assertNull(cache.get(CLAN));
+        assertSame(player, cache.get(PLAYER).getResponse());
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void timeToLiveTest() throws InterruptedException {
+        LruResponseCache cache = new LruResponseCache(10, 1, TimeUnit.MINUTES);
+        cache.setTimeToLive("clans", 20, TimeUnit.MILLISECONDS);
+        cache.setTimeToLive("clans/members", 0, TimeUnit.MILLISECONDS);
+
+        cache.put(PLAYER, new JSONObject(), null, -1, TimeUnit.SECONDS);
+        cache.put(CLAN, new JSONObject(), null, -1, TimeUnit.SECONDS);
+        cache.put(MEMBERS, new JSONObject(), null, -1, TimeUnit.SECONDS);
+        assertNull(cache.get(MEMBERS));
+
+        Thread.sleep(50);
+        assertNull(cache.get(CLAN));
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void revalidationTest() {
+        LruResponseCache cache = new LruResponseCache(10, 1, TimeUnit.MINUTES);
+        JSONObject player = new JSONObject();
+        cache.put(PLAYER, player, "\"abc\"", 0, TimeUnit.SECONDS);
+        cache.put(CLAN, new JSONObject(), null, 0, TimeUnit.SECONDS);
+
+        CachedResponse cached = cache.get(PLAYER);
+        assertFalse(cached.isFresh());
+        assertEquals("\"abc\"", cached.getETag());
+        assertSame(player, cached.getResponse());
+        assertNull(cache.get(CLAN));
+
+        cache.put(PLAYER, player, "\"abc\"", 1, TimeUnit.MINUTES);
+        assertTrue(cache.get(PLAYER).isFresh());
+        assertEquals(1, cache.getHitCount());
+    }
+}
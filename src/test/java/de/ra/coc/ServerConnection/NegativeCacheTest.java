@@ -0,0 +1,66 @@
+package de.ra.coc.ServerConnection;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NegativeCacheTest {
+    @Test
+    public void tagLinkTest() {
+        assertTrue(NegativeCache.isTagLink("https://api.clashofclans.com/v1/players/%232PP"));
+        assertTrue(NegativeCache.isTagLink("https://api.clashofclans.com/v1/clans/%232PP"));
+        assertFalse(NegativeCache.isTagLink("https://api.clashofclans.com/v1/clans/%232PP/members"));
+        assertFalse(NegativeCache.isTagLink("https://api.clashofclans.com/v1/clans/%232PP/currentwar/leaguegroup"));
+        assertFalse(NegativeCache.isTagLink("https://api.clashofclans.com/v1/clanwarleagues/wars/%232PP"));
+        assertFalse(NegativeCache.isTagLink("https://api.clashofclans.com/v1/clans?name=test"));
+        assertFalse(NegativeCache.isTagLink("https://api.clashofclans.com/v1/players/"));
+    }
+
+    @Test
+    public void expiryTest() throws InterruptedException {
+        NegativeCache cache = new NegativeCache(10, 50, TimeUnit.MILLISECONDS);
+        cache.put("players/%232PP");
+        assertTrue(cache.contains("players/%232PP"));
+        assertFalse(cache.contains("players/%232PQ"));
+
+        Thread.sleep(100);
+        assertFalse(cache.contains("players/%232PP"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void evictionTest() {
+        NegativeCache cache = new NegativeCache(2, 1, TimeUnit.MINUTES);
+        cache.put("a");
+        cache.put("b");
+        cache.contains("a");
+        cache.put("c");
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+    }
+
+    @Test
+    public void bloomFilterTest() {
+        NegativeCache cache = new NegativeCache(100, 1, TimeUnit.MINUTES, 0.01);
+        assertTrue(cache.hasBloomFilter());
+
+        for (int index = 0; index < 1000; index++)
+            cache.put("missing-" + index);
+
+        assertEquals(100, cache.size());
+        for (int index = 900; index < 1000; index++)
+            assertTrue(cache.contains("missing-" + index));
+        for (int index = 0; index < 1000; index++)
+            assertFalse(cache.contains("valid-" + index));
+
+        cache.clear();
+        assertFalse(cache.contains("missing-999"));
+    }
+}
@@ -0,0 +1,57 @@
+package de.ra.coc.ServerConnection;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterTest {
+    @Test
+    public void tokenBucketTest() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(100, 5);
+        assertEquals(5, limiter.getAvailablePermits());
+
+        for (int index = 0; index < 5; index++)
+            assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertTrue(limiter.getEstimatedWait(TimeUnit.NANOSECONDS) > 0);
+
+        long start = System.nanoTime();
+        for (int index = 0; index < 10; index++)
+            limiter.acquire();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("Elapsed " + elapsed + " ms", elapsed >= 80);
+        assertEquals(15, limiter.getAcquiredPermits());
+        assertEquals(10, limiter.getDelayedPermits());
+    }
+
+    @Test
+    public void unlimitedTest() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(0, 1);
+        for (int index = 0; index < 1000; index++)
+            limiter.acquire();
+
+        assertEquals(Integer.MAX_VALUE, limiter.getAvailablePermits());
+        assertEquals(0, limiter.getTotalWait(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void defaultRateKeepsOwnRateTest() {
+        try {
+            RateLimiter.setRate("defaultRateOwnToken", 5, 1);
+            RateLimiter.forToken("defaultRateSharedToken");
+
+            RateLimiter.setDefaultRate(10, 2);
+
+            assertEquals(5, RateLimiter.forToken("defaultRateOwnToken").getPermitsPerSecond(), 0);
+            assertEquals(10, RateLimiter.forToken("defaultRateSharedToken").getPermitsPerSecond(), 0);
+            assertEquals(10, RateLimiter.forToken("defaultRateNewToken").getPermitsPerSecond(), 0);
+        } finally {
+            RateLimiter.setDefaultRate(0, 1);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package de.ra.coc.ServerConnection;
+
+import de.ra.coc.COCPlayers;
+import de.ra.coc.Clan.Clan;
+import de.ra.coc.Clan.ClanRoster;
+import de.ra.coc.Clan.ClanSearch;
+import de.ra.coc.Clan.ClanSearchFactory;
+import de.ra.coc.Clan.CurrentWarPoller;
+import de.ra.coc.Clan.WarLogEntry;
+import de.ra.coc.Clan.WarLogSync;
+import de.ra.coc.Clan.WarState;
+import de.ra.coc.ClanWarLeague.LeagueGroup;
+import de.ra.coc.ClanWarLeague.LeagueGroupCrawler;
+import de.ra.exception.ClanJWException;
+import de.ra.exception.serverConnectionException.COCServerConnectionException;
+import de.ra.exception.tagException.InvalidPlayerTagException;
+import org.json.JSONException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StubServerTest {
+    private StubServer server;
+    private Transport transport;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StubServer()
+                .route("/players/", StubServer.players(3))
+                .start();
+        transport = new HttpTransport(new TokenPool("stub-token"), server.getBaseLink());
+    }
+
+    @After
+    public void tearDown() {
+        HttpConnection.setRetryPolicy(RetryPolicy.DEFAULT);
+        server.close();
+    }
+
+    @Test
+    public void playerTest() throws ClanJWException, UnsupportedEncodingException, JSONException {
+        COCPlayers player = new COCPlayers(transport, "2ppo");
+        assertEquals("#2PP0", player.getPlayerTag());
+        assertEquals(3, player.getPlayerTroopsInformation().length());
+        assertEquals(3, player.getPlayerSnapshot().getTroops().size());
+    }
+
+    @Test
+    public void clanTest() throws ClanJWException, UnsupportedEncodingException, JSONException {
+        Clan clan = new Clan(transport, "#2PP");
+        assertEquals("#2PP", clan.getClanTag());
+        assertEquals(50, clan.getClanMemberList().size());
+
+        ClanRoster members = clan.getClanMembers();
+        assertEquals(50, members.size());
+        assertEquals("leader", members.getRole(0));
+    }
+
+    @Test
+    public void clanSearchTest() throws UnsupportedEncodingException {
+        ClanSearch search = new ClanSearchFactory(transport).setClanNameCriteria("stub").setResultLimit(10).build();
+        try (Stream<?> clans = search.stream()) {
+            assertEquals(50, clans.count());
+        }
+    }
+
+    @Test
+    public void warLogTest() throws ClanJWException, UnsupportedEncodingException, JSONException {
+        server.route("/clans/%232PP/warlog", (path, query) -> "{\"items\":[{\"result\":\"win\"," +
+                "\"endTime\":\"20200110T120000.000Z\",\"teamSize\":15,\"clan\":{\"tag\":\"#2PP\",\"stars\":40}," +
+                "\"opponent\":{\"tag\":\"#2PQ\"}}]}");
+
+        List<WarLogEntry> entries = new WarLogSync(transport).sync("#2PP");
+        assertEquals(1, entries.size());
+        assertEquals("#2PQ", entries.get(0).getOpponentTag());
+        assertEquals(2, server.getRequestCount());
+
+        // The war log is requested with the transport of the clan, not of the WarLogSync.
+        WarLogSync sync = new WarLogSync(new TokenPool("token"));
+        assertEquals(1, sync.sync(new Clan(transport, "#2PP")).size());
+        assertEquals(4, server.getRequestCount());
+    }
+
+    @Test
+    public void currentWarTest() throws InterruptedException {
+        try (CurrentWarPoller poller = new CurrentWarPoller(transport, 1)) {
+            poller.addClan("#2PP");
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (poller.getWarState("#2PP") == null && System.currentTimeMillis() < deadline)
+                Thread.sleep(20);
+
+            assertEquals(WarState.NOT_IN_WAR, poller.getWarState("#2PP"));
+            assertEquals(2, server.getRequestCount());
+        }
+    }
+
+    @Test
+    public void leagueGroupTest() throws ClanJWException, UnsupportedEncodingException {
+        server.route("/clans/%232PP/currentwar/leaguegroup", (path, query) -> "{\"state\":\"inWar\"," +
+                "\"season\":\"2020-01\",\"clans\":[{\"tag\":\"#2PP\"},{\"tag\":\"#2PQ\"}]," +
+                "\"rounds\":[{\"warTags\":[\"#8P\"]}]}");
+        server.route("/clanwarleagues/wars/", (path, query) -> "{\"state\":\"warEnded\"," +
+                "\"clan\":{\"tag\":\"#2PP\"},\"opponent\":{\"tag\":\"#2PQ\"}}");
+
+        try (LeagueGroupCrawler crawler = new LeagueGroupCrawler(transport, 2)) {
+            LeagueGroup group = crawler.getLeagueGroup("#2PP");
+            assertEquals(2, group.getClanTags().size());
+            assertEquals(1, group.getWarsOfClan("#2PQ").size());
+            assertEquals(1, crawler.getEndedWarCount());
+            assertEquals(2, server.getRequestCount());
+        }
+    }
+
+    @Test
+    public void errorInjectionTest() throws ClanJWException, UnsupportedEncodingException {
+        HttpConnection.setRetryPolicy(new RetryPolicy(3, 1, 10, TimeUnit.MILLISECONDS));
+        server.failNext(503, 2);
+        new COCPlayers(transport, "#2PQ");
+        assertEquals(3, server.getRequestCount());
+        assertEquals(2, server.getErrorCount());
+
+        HttpConnection.setRetryPolicy(RetryPolicy.NO_RETRY);
+        server.setRetryAfter(1).failNext(429, 1);
+        try {
+            new COCPlayers(transport, "#2PR");
+            fail("Expected COCServerConnectionException");
+        } catch (COCServerConnectionException e) {
+            assertEquals(429, e.getStatusCode());
+            assertEquals(1, e.getRetryAfter());
+        }
+    }
+
+    @Test
+    public void notFoundTest() throws ClanJWException, UnsupportedEncodingException {
+        server.route("/players/%23Q", (path, query) -> null);
+        try {
+            new COCPlayers(transport, "#QQ");
+            fail("Expected InvalidPlayerTagException");
+        } catch (InvalidPlayerTagException expected) {
+            assertTrue(expected.getMessage().contains("QQ"));
+        }
+
+        try {
+            new COCPlayers(transport, "#ABC");
+            fail("Expected InvalidPlayerTagException");
+        } catch (InvalidPlayerTagException expected) {
+            assertEquals(1, server.getRequestCount());
+        }
+    }
+}
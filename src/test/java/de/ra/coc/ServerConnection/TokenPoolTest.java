@@ -0,0 +1,37 @@
+package de.ra.coc.ServerConnection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class TokenPoolTest {
+    @Test
+    public void leastRecentlyUsedTest() {
+        TokenPool pool = new TokenPool("first", "second", "third");
+
+        assertEquals("first", pool.acquire());
+        assertEquals("second", pool.acquire());
+        assertEquals("third", pool.acquire());
+        assertEquals("first", pool.acquire());
+
+        pool.suspend("second");
+        assertEquals(Arrays.asList("first", "third"), pool.getActiveTokens());
+        assertEquals("third", pool.acquire());
+        assertEquals("first", pool.acquire());
+        assertEquals("third", pool.acquire());
+    }
+
+    @Test
+    public void allSuspendedTest() {
+        TokenPool pool = new TokenPool("first", "second");
+        pool.suspend("first", 2, TimeUnit.MINUTES);
+        pool.suspend("second", 1, TimeUnit.MINUTES);
+
+        assertEquals(Collections.emptyList(), pool.getActiveTokens());
+        assertEquals("second", pool.acquire());
+    }
+}